@@ -0,0 +1,250 @@
+package main.java.com.hotelreservation;
+
+import main.java.com.hotelreservation.bulk.BulkExporter;
+import main.java.com.hotelreservation.bulk.BulkLoader;
+import main.java.com.hotelreservation.bulk.CopyFormat;
+import main.java.com.hotelreservation.bulk.CopyResult;
+import main.java.com.hotelreservation.bulk.CopyTable;
+import main.java.com.hotelreservation.migration.QueryPlanChecker;
+import main.java.com.hotelreservation.migration.SchemaMigrator;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.pricing.DynamicPricing;
+import main.java.com.hotelreservation.pricing.PricingSnapshot;
+import main.java.com.hotelreservation.pricing.RuleBasedPricing;
+import main.java.com.hotelreservation.repository.ReservationRepository;
+import main.java.com.hotelreservation.repository.RoomRepository;
+import main.java.com.hotelreservation.simulation.PricingSimulator;
+import main.java.com.hotelreservation.statistics.DailyStatsRollup;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+public class AdminCommands {
+    private static final double PRICE_TOLERANCE = 0.005;
+    private static final double[] SAMPLE_OCCUPANCY = {0.0, 0.25, 0.3, 0.4, 0.5, 0.9};
+
+    private AdminCommands() {
+    }
+
+    public static int run(String[] args) {
+        try {
+            switch (args[0]) {
+                case "import":
+                    return importTable(args);
+                case "export":
+                    return exportTable(args);
+                case "migrate":
+                    return migrate();
+                case "check-plans":
+                    return checkPlans();
+                case "compare-pricing":
+                    return comparePricing(args);
+                case "simulate":
+                    return simulate(args);
+                case "rebuild-rollups":
+                    return rebuildRollups();
+                default:
+                    printUsage();
+                    return 2;
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            printUsage();
+            return 2;
+        } catch (RuntimeException e) {
+            System.out.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static int importTable(String[] args) {
+        requireArgs(args, 3);
+        CopyTable table = parseTable(args[1]);
+        CopyFormat format = parseFormat(args, 3);
+        CopyResult result = new BulkLoader().importFile(table, Path.of(args[2]), format);
+        System.out.println("Imported " + result + " into " + table.getTableName());
+        if (table == CopyTable.RESERVATIONS) {
+            int rows = new DailyStatsRollup().rebuild();
+            System.out.println("Rebuilt daily_stats with " + rows + " row(s).");
+        }
+        return 0;
+    }
+
+    private static int exportTable(String[] args) {
+        requireArgs(args, 3);
+        CopyTable table = parseTable(args[1]);
+        CopyFormat format = parseFormat(args, 3);
+        CopyResult result = new BulkExporter().exportFile(table, Path.of(args[2]), format);
+        System.out.println("Exported " + result + " from " + table.getTableName());
+        return 0;
+    }
+
+    private static int migrate() {
+        int applied = new SchemaMigrator().migrate();
+        System.out.println(applied == 0 ? "Schema is up to date." : "Applied " + applied + " migration(s).");
+        return 0;
+    }
+
+    private static int rebuildRollups() {
+        int rows = new DailyStatsRollup().rebuild();
+        System.out.println("Rebuilt daily_stats with " + rows + " row(s).");
+        return 0;
+    }
+
+    private static int checkPlans() {
+        List<String> findings = new QueryPlanChecker().findSequentialScans();
+        if (findings.isEmpty()) {
+            System.out.println("No repository query scans a large table sequentially.");
+            return 0;
+        }
+        findings.forEach(System.out::println);
+        return 1;
+    }
+
+    // Quotes every stay of up to 14 nights starting in the next N days (default 90) with both strategies.
+    private static int comparePricing(String[] args) {
+        int days = args.length > 1 ? parseCount(args[1]) : 90;
+        DynamicPricing dynamic = new DynamicPricing();
+        RuleBasedPricing rules = new RuleBasedPricing();
+        try {
+            LocalDate today = LocalDate.now();
+            long quotes = 0;
+            double worst = 0;
+            String worstQuote = null;
+            for (int offset = 0; offset < days; offset++) {
+                LocalDate start = today.plusDays(offset);
+                for (int nights = 1; nights <= 14; nights++) {
+                    LocalDate end = start.plusDays(nights);
+                    for (RoomType roomType : RoomType.values()) {
+                        for (double occupancy : SAMPLE_OCCUPANCY) {
+                            double expected = dynamic.calculatePrice(start, end, roomType, occupancy);
+                            double actual = rules.calculatePrice(start, end, roomType, occupancy);
+                            double difference = Math.abs(expected - actual);
+                            quotes++;
+                            if (difference > worst) {
+                                worst = difference;
+                                worstQuote = String.format("%s %s to %s at %.0f%% occupancy: %.4f vs %.4f",
+                                        roomType, start, end, occupancy * 100, expected, actual);
+                            }
+                        }
+                    }
+                }
+            }
+            System.out.printf("Compared %,d quotes; largest difference %.6f%n", quotes, worst);
+            if (worst > PRICE_TOLERANCE) {
+                System.out.println("Rule-based pricing disagrees: " + worstQuote);
+                return 1;
+            }
+            return 0;
+        } finally {
+            dynamic.close();
+            rules.close();
+        }
+    }
+
+    // Re-prices the reservations checking in between two dates under the current pricing with the changes applied.
+    private static int simulate(String[] args) {
+        requireArgs(args, 3);
+        LocalDate startDate = parseDate(args[1]);
+        LocalDate endDate = parseDate(args[2]);
+        DynamicPricing pricing = new DynamicPricing();
+        try {
+            PricingSnapshot current = pricing.getSnapshot();
+            PricingSnapshot candidate = current;
+            for (int i = 3; i < args.length; i++) {
+                candidate = applyChange(candidate, args[i]);
+            }
+            PricingSimulator simulator = new PricingSimulator(new ReservationRepository(), new RoomRepository(), pricing);
+            System.out.println(simulator.simulate(startDate, endDate, current, candidate));
+            return 0;
+        } finally {
+            pricing.close();
+        }
+    }
+
+    // base:<type>=<price>, season:<start>:<end>=<multiplier>, event:<date>:<name>=<multiplier>, no-seasons, no-events
+    private static PricingSnapshot applyChange(PricingSnapshot snapshot, String change) {
+        if (change.equals("no-seasons")) {
+            return snapshot.withoutSeasons();
+        }
+        if (change.equals("no-events")) {
+            return snapshot.withoutEvents();
+        }
+        int equals = change.lastIndexOf('=');
+        String[] target = change.substring(0, Math.max(equals, 0)).split(":", 3);
+        try {
+            double value = Double.parseDouble(change.substring(equals + 1));
+            if (target[0].equals("base") && target.length == 2) {
+                return snapshot.withBasePrice(RoomType.valueOf(target[1].toUpperCase()), value);
+            }
+            if (target[0].equals("season") && target.length == 3) {
+                return snapshot.withSeason(parseDate(target[1]), parseDate(target[2]), value);
+            }
+            if (target[0].equals("event") && target.length == 3) {
+                return snapshot.withEvent(parseDate(target[1]), target[2], value);
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Unknown pricing change: " + change);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a date (YYYY-MM-DD): " + value);
+        }
+    }
+
+    private static int parseCount(String value) {
+        try {
+            int count = Integer.parseInt(value);
+            if (count > 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Not a positive number: " + value);
+    }
+
+    private static void requireArgs(String[] args, int count) {
+        if (args.length < count) {
+            throw new IllegalArgumentException("Missing arguments for '" + args[0] + "'.");
+        }
+    }
+
+    private static CopyTable parseTable(String value) {
+        try {
+            return CopyTable.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown table: " + value);
+        }
+    }
+
+    private static CopyFormat parseFormat(String[] args, int index) {
+        if (args.length <= index) {
+            return CopyFormat.CSV;
+        }
+        try {
+            return CopyFormat.valueOf(args[index].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format: " + args[index]);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  import <hotels|customers|rooms|reservations> <file[.gz]> [csv|binary]");
+        System.out.println("  export <hotels|customers|rooms|reservations> <file[.gz]> [csv|binary]");
+        System.out.println("  migrate");
+        System.out.println("  check-plans");
+        System.out.println("  compare-pricing [days]");
+        System.out.println("  rebuild-rollups");
+        System.out.println("  simulate <from> <to> [base:<type>=<price> | season:<start>:<end>=<multiplier> |");
+        System.out.println("                        event:<date>:<name>=<multiplier> | no-seasons | no-events ...]");
+    }
+}
@@ -1,20 +1,38 @@
 package main.java.com.hotelreservation;
 
+import main.java.com.hotelreservation.availability.AvailabilityIndex;
+import main.java.com.hotelreservation.dao.Page;
+import main.java.com.hotelreservation.exception.ReservationConflictException;
+import main.java.com.hotelreservation.migration.SchemaMigrator;
 import main.java.com.hotelreservation.model.*;
 import main.java.com.hotelreservation.model.enums.*;
 import main.java.com.hotelreservation.repository.*;
 import main.java.com.hotelreservation.service.*;
+import main.java.com.hotelreservation.pricing.CachingPricingStrategy;
 import main.java.com.hotelreservation.pricing.DynamicPricing;
+import main.java.com.hotelreservation.statistics.DailyStatsRollup;
+import main.java.com.hotelreservation.statistics.RollupStatisticsSource;
+import main.java.com.hotelreservation.statistics.SqlStatisticsSource;
 import main.java.com.hotelreservation.statistics.Statistics;
+import main.java.com.hotelreservation.util.DayHorizon;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class HotelManagementSystem {
+    private static final int PAGE_SIZE = 20;
+    // "memory" streams every reservation into an in-memory index at startup, "sql" computes each report from the
+    // reservations in the database, and "rollup" reads the per-day daily_stats rows.
+    private static final String STATISTICS_SOURCE = System.getProperty("hoteljdbc.statistics.source", "memory");
+
     private final CustomerService customerService;
     private final ReservationService reservationService;
     private final RoomService roomService;
@@ -22,19 +40,40 @@ public class HotelManagementSystem {
     private final Statistics statistics;
     private final Scanner scanner;
     private final DynamicPricing pricingStrategy;
+    private final CachingPricingStrategy quoteCache;
 
     public HotelManagementSystem() {
+        new SchemaMigrator().migrate();
+
         CustomerRepository customerRepository = new CustomerRepository();
         ReservationRepository reservationRepository = new ReservationRepository();
         RoomRepository roomRepository = new RoomRepository();
         HotelRepository hotelRepository = new HotelRepository();
         this.pricingStrategy = new DynamicPricing();
+        this.quoteCache = new CachingPricingStrategy(pricingStrategy);
+        AvailabilityIndex availabilityIndex = AvailabilityIndex.load(
+                DayHorizon.startingToday(AvailabilityIndex.DEFAULT_HORIZON_DAYS), roomRepository, reservationRepository);
 
         this.customerService = new CustomerService(customerRepository);
-        this.reservationService = new ReservationService(reservationRepository, pricingStrategy , roomRepository);
-        this.roomService = new RoomService(roomRepository);
+        this.reservationService = new ReservationService(reservationRepository, quoteCache, roomRepository, availabilityIndex);
+        this.roomService = new RoomService(roomRepository, availabilityIndex);
         this.hotelService = new HotelService(hotelRepository);
-        this.statistics = new Statistics(reservationRepository.findAll(), roomRepository.findAll(), pricingStrategy);
+        DailyStatsRollup rollup = new DailyStatsRollup();
+        reservationService.addChangeListener(rollup);
+        roomService.addChangeListener(rollup);
+        switch (STATISTICS_SOURCE) {
+            case "rollup":
+                this.statistics = new Statistics(new RollupStatisticsSource(reservationRepository), quoteCache);
+                break;
+            case "sql":
+                this.statistics = new Statistics(new SqlStatisticsSource(reservationRepository), quoteCache);
+                break;
+            default:
+                try (Stream<Reservation> reservations = reservationService.streamAllReservations()) {
+                    this.statistics = new Statistics(reservations, roomRepository.findAll(), quoteCache);
+                }
+        }
+        statistics.subscribeTo(reservationService, roomService);
         this.scanner = new Scanner(System.in);
     }
 
@@ -88,8 +127,9 @@ public class HotelManagementSystem {
         System.out.println("2. Find Customer by ID");
         System.out.println("3. Update Customer");
         System.out.println("4. Delete Customer");
-        System.out.println("5. Return to Main Menu");
-        int choice = getValidIntInput("Enter your choice: ", 5);
+        System.out.println("5. Search Customers by Name");
+        System.out.println("6. Return to Main Menu");
+        int choice = getValidIntInput("Enter your choice: ", 6);
 
         switch (choice) {
             case 1:
@@ -105,6 +145,9 @@ public class HotelManagementSystem {
                 deleteCustomer();
                 break;
             case 5:
+                searchCustomersByName();
+                break;
+            case 6:
                 return;
         }
     }
@@ -161,14 +204,22 @@ public class HotelManagementSystem {
         System.out.println("Customer deleted successfully.");
     }
 
+    private void searchCustomersByName() {
+        String name = getValidStringInput("Enter part of the customer name: ", "Name cannot be empty.");
+        browsePages(token -> customerService.findCustomersByNamePage(name, token, PAGE_SIZE), "No customers found.");
+    }
+
     private void handleReservationOperations() {
         System.out.println("\n--- Reservation Operations ---");
         System.out.println("1. Make New Reservation");
         System.out.println("2. Find Reservation by ID");
         System.out.println("3. Update Reservation");
         System.out.println("4. Cancel Reservation");
-        System.out.println("5. Return to Main Menu");
-        int choice = getValidIntInput("Enter your choice: ", 5);
+        System.out.println("5. List Reservations by Status");
+        System.out.println("6. List Reservations by Customer");
+        System.out.println("7. Today's Arrivals");
+        System.out.println("8. Return to Main Menu");
+        int choice = getValidIntInput("Enter your choice: ", 8);
 
         switch (choice) {
             case 1:
@@ -184,6 +235,15 @@ public class HotelManagementSystem {
                 cancelReservation();
                 break;
             case 5:
+                listReservationsByStatus();
+                break;
+            case 6:
+                listReservationsByCustomer();
+                break;
+            case 7:
+                showTodaysArrivals();
+                break;
+            case 8:
                 return;
         }
     }
@@ -204,6 +264,8 @@ public class HotelManagementSystem {
                 Reservation createdReservation = reservationService.createReservation(reservation);
                 System.out.println("Reservation made successfully with ID: " + createdReservation.getReservationId());
                 System.out.println("Total Price: $" + createdReservation.getTotalPrice());
+            } catch (ReservationConflictException e) {
+                System.out.println(e.getMessage() + ". Please choose other dates or another room.");
             } catch (Exception e) {
                 System.out.println("Error creating reservation: " + e.getMessage());
             }
@@ -237,8 +299,12 @@ public class HotelManagementSystem {
             ReservationStatus status = getOptionalReservationStatus("Enter new status (CONFIRMED/CANCELLED) or press enter to keep current: ");
             if (status != null) reservation.setStatus(status);
 
-            reservationService.updateReservation(reservation);
-            System.out.println("Reservation updated successfully.");
+            try {
+                reservationService.updateReservation(reservation);
+                System.out.println("Reservation updated successfully.");
+            } catch (ReservationConflictException e) {
+                System.out.println(e.getMessage() + ". The reservation was not changed.");
+            }
         } else {
             System.out.println("Reservation not found.");
         }
@@ -254,13 +320,50 @@ public class HotelManagementSystem {
         }
     }
 
+    private void listReservationsByStatus() {
+        ReservationStatus status = getValidReservationStatus();
+        browsePages(token -> withCustomers(reservationService.findReservationsByStatusPage(status, token, PAGE_SIZE)), "No reservations found.");
+    }
+
+    private void listReservationsByCustomer() {
+        int customerId = getValidIntInput("Enter customer ID: ", Integer.MAX_VALUE);
+        browsePages(token -> withCustomers(reservationService.findReservationsByCustomerIdPage(customerId, token, PAGE_SIZE)), "No reservations found.");
+    }
+
+    private void showTodaysArrivals() {
+        LocalDate today = LocalDate.now();
+        List<Reservation> arrivals = reservationService.findArrivals(today);
+        System.out.println("Arrivals for " + today + ": " + arrivals.size());
+        for (Reservation r : arrivals) {
+            Room room = r.getRoom();
+            System.out.println("Reservation " + r.getReservationId() + ": " + r.getCustomer().getName()
+                    + " (" + r.getCustomer().getPhoneNumber() + ")"
+                    + " - Room " + room.getRoomId() + " " + room.getRoomType()
+                    + " at " + room.getHotel().getName()
+                    + ", departs " + r.getEndDate());
+        }
+    }
+
+    private Page<Reservation> withCustomers(Page<Reservation> page) {
+        Map<Integer, Customer> customers = customerService.getCustomersByIds(
+                page.getItems().stream().map(Reservation::getCustomerId).toList());
+        for (Reservation reservation : page.getItems()) {
+            Customer customer = customers.get(reservation.getCustomerId());
+            if (customer != null) {
+                reservation.setCustomer(customer);
+            }
+        }
+        return page;
+    }
+
     private void handleRoomOperations() {
         System.out.println("\n--- Room Operations ---");
         System.out.println("1. Add New Room");
         System.out.println("2. Find Room by ID");
         System.out.println("3. Update Room");
         System.out.println("4. Delete Room");
-        int choice = getValidIntInput("Enter your choice: ", 4);
+        System.out.println("5. Search Available Rooms");
+        int choice = getValidIntInput("Enter your choice: ", 5);
 
         switch (choice) {
             case 1:
@@ -275,6 +378,9 @@ public class HotelManagementSystem {
             case 4:
                 deleteRoom();
                 break;
+            case 5:
+                searchAvailableRooms();
+                break;
         }
     }
 
@@ -327,14 +433,29 @@ public class HotelManagementSystem {
         System.out.println("Room deleted successfully.");
     }
 
+    private void searchAvailableRooms() {
+        int hotelId = getValidIntInput("Enter hotel ID: ", Integer.MAX_VALUE);
+        RoomType roomType = getValidRoomType();
+        LocalDate startDate = getValidFutureDate("Enter start date (YYYY-MM-DD): ");
+        LocalDate endDate = getValidEndDate(startDate);
+
+        List<Room> rooms = roomService.searchAvailable(hotelId, roomType, startDate, endDate, PAGE_SIZE);
+        if (rooms.isEmpty()) {
+            System.out.println("No " + roomType + " rooms are free for those dates.");
+        } else {
+            rooms.forEach(System.out::println);
+        }
+    }
+
     private void handleHotelOperations() {
         System.out.println("\n--- Hotel Operations ---");
         System.out.println("1. Add New Hotel");
         System.out.println("2. Find Hotel by ID");
         System.out.println("3. Update Hotel");
         System.out.println("4. Delete Hotel");
-        System.out.println("5. Return to Main Menu");
-        int choice = getValidIntInput("Enter your choice: ", 5);
+        System.out.println("5. List Hotels");
+        System.out.println("6. Return to Main Menu");
+        int choice = getValidIntInput("Enter your choice: ", 6);
 
         switch (choice) {
             case 1:
@@ -350,6 +471,9 @@ public class HotelManagementSystem {
                 deleteHotel();
                 break;
             case 5:
+                browsePages(token -> hotelService.getHotelsPage(token, PAGE_SIZE), "No hotels found.");
+                break;
+            case 6:
                 return;
         }
     }
@@ -542,6 +666,31 @@ public class HotelManagementSystem {
         pricingStrategy.getEventPricingInfo().forEach(entry ->
                 entry.getValue().forEach((event, multiplier) ->
                         System.out.println(entry.getKey() + " - " + event + ": x" + multiplier)));
+
+        System.out.println("\nQuote Cache: " + quoteCache.getStats());
+    }
+
+    private <T> void browsePages(Function<String, Page<T>> fetchPage, String emptyMessage) {
+        String pageToken = null;
+        int pageNumber = 1;
+        while (true) {
+            Page<T> page = fetchPage.apply(pageToken);
+            if (pageNumber == 1 && page.getItems().isEmpty()) {
+                System.out.println(emptyMessage);
+                return;
+            }
+            System.out.println("--- Page " + pageNumber + " ---");
+            page.getItems().forEach(System.out::println);
+            if (!page.hasNext()) {
+                return;
+            }
+            String input = getOptionalStringInput("Press enter for the next page or 'q' to stop: ");
+            if (input.equalsIgnoreCase("q")) {
+                return;
+            }
+            pageToken = page.getNextPageToken();
+            pageNumber++;
+        }
     }
 
     private int getValidIntInput(String prompt, int max) {
@@ -784,6 +933,17 @@ public class HotelManagementSystem {
         }
     }
 
+    private ReservationStatus getValidReservationStatus() {
+        while (true) {
+            try {
+                System.out.print("Enter reservation status (CONFIRMED/CANCELLED): ");
+                return ReservationStatus.valueOf(scanner.nextLine().toUpperCase().trim());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Invalid reservation status. Please enter CONFIRMED or CANCELLED.");
+            }
+        }
+    }
+
     private ReservationStatus getOptionalReservationStatus(String prompt) {
         System.out.print(prompt);
         String input = scanner.nextLine().toUpperCase().trim();
@@ -799,6 +959,9 @@ public class HotelManagementSystem {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(AdminCommands.run(args));
+        }
         HotelManagementSystem system = new HotelManagementSystem();
         system.run();
     }
@@ -0,0 +1,320 @@
+package main.java.com.hotelreservation.availability;
+
+import main.java.com.hotelreservation.dao.ReservationDAO;
+import main.java.com.hotelreservation.dao.RoomDAO;
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.Room;
+import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * One bit per room-night over the horizon; a set bit means a CONFIRMED stay occupies that night.
+ * Releasing a stay simply clears its bits, which is only safe because the database rejects
+ * overlapping CONFIRMED stays on the same room (reservations_no_double_booking).
+ * An index built by load() rolls its horizon forward when the date changes: the past nights are shifted
+ * out and the newly covered ones are read from the database.
+ */
+public class AvailabilityIndex {
+    public static final int DEFAULT_HORIZON_DAYS = Integer.getInteger("hoteljdbc.availability.horizonDays", 730);
+    private static final long ROLL_CHECK_MINUTES = Long.getLong("hoteljdbc.availability.rollCheckMinutes", 10L);
+
+    private volatile DayHorizon horizon;
+    private final Map<Integer, RoomNights> rooms = new HashMap<>();
+    private final Map<Integer, Map<RoomType, List<RoomNights>>> roomsByHotel = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OccupancyCounters occupancyCounters;
+    private ReservationDAO reservationDAO;
+    private ScheduledExecutorService roller;
+
+    private static class RoomNights {
+        final int roomId;
+        final int hotelId;
+        final RoomType roomType;
+        final BitSet nights;
+        boolean inService;
+
+        RoomNights(int roomId, int hotelId, RoomType roomType, boolean inService, BitSet nights) {
+            this.roomId = roomId;
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.inService = inService;
+            this.nights = nights;
+        }
+    }
+
+    public AvailabilityIndex(DayHorizon horizon) {
+        this.horizon = horizon;
+        this.occupancyCounters = new OccupancyCounters(horizon, lock);
+    }
+
+    public static AvailabilityIndex load(DayHorizon horizon, RoomDAO roomDAO, ReservationDAO reservationDAO) {
+        AvailabilityIndex index = new AvailabilityIndex(horizon);
+        List<Room> rooms = new ArrayList<>(roomDAO.findAll());
+        rooms.sort(Comparator.comparingInt(Room::getRoomId));
+        rooms.forEach(index::putRoom);
+        index.reserveConfirmed(reservationDAO.findOverlapping(horizon.getOrigin(), horizon.getEnd()));
+        index.reservationDAO = reservationDAO;
+        if (ROLL_CHECK_MINUTES > 0) {
+            index.roller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "availability-roller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            index.roller.scheduleWithFixedDelay(index::rollQuietly, ROLL_CHECK_MINUTES, ROLL_CHECK_MINUTES, TimeUnit.MINUTES);
+        }
+        return index;
+    }
+
+    // Moves the horizon to start at date, keeping its length; returns false if it already starts there or later.
+    public boolean rollTo(LocalDate date) {
+        // The new nights are read and marked under the write lock, so a concurrent release of one of those stays
+        // is ordered after the marking instead of being lost before it; readers wait for one query a day.
+        lock.writeLock().lock();
+        try {
+            DayHorizon previous = horizon;
+            int days = previous.indexOf(date);
+            if (days <= 0) {
+                return false;
+            }
+            DayHorizon next = new DayHorizon(date, previous.getDays());
+            LocalDate from = previous.getEnd().isAfter(date) ? previous.getEnd() : date;
+            List<Reservation> added = reservationDAO == null ? List.of() : reservationDAO.findOverlapping(from, next.getEnd());
+            for (RoomNights room : rooms.values()) {
+                BitSet kept = room.nights.get(days, Math.max(days, room.nights.length()));
+                room.nights.clear();
+                room.nights.or(kept);
+            }
+            occupancyCounters.shift(next, days);
+            this.horizon = next;
+            reserveConfirmed(added);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void close() {
+        if (roller != null) {
+            roller.shutdownNow();
+        }
+    }
+
+    private void rollQuietly() {
+        try {
+            rollTo(LocalDate.now());
+        } catch (RuntimeException e) {
+            System.out.println("Error rolling availability horizon: " + e.getMessage());
+        }
+    }
+
+    private void reserveConfirmed(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+                reserve(reservation.getRoomId(), reservation.getStartDate(), reservation.getEndDate());
+            }
+        }
+    }
+
+    public DayHorizon getHorizon() {
+        return horizon;
+    }
+
+    public OccupancyCounters getOccupancyCounters() {
+        return occupancyCounters;
+    }
+
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return horizon.covers(startDate, endDate);
+    }
+
+    public boolean containsRoom(int roomId) {
+        lock.readLock().lock();
+        try {
+            return rooms.containsKey(roomId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds the room, or refreshes its hotel, type and in-service flag while keeping its booked nights.
+    public void putRoom(Room room) {
+        lock.writeLock().lock();
+        try {
+            RoomNights existing = rooms.get(room.getRoomId());
+            if (existing != null && existing.hotelId == room.getHotelId() && existing.roomType == room.getRoomType()) {
+                existing.inService = Boolean.TRUE.equals(room.isAvailable());
+                return;
+            }
+            BitSet nights = existing != null ? existing.nights : new BitSet(horizon.getDays());
+            if (existing != null) {
+                unlink(existing);
+                countNights(existing, -1);
+                occupancyCounters.removeRoom(existing.hotelId, existing.roomType);
+            }
+            RoomNights entry = new RoomNights(room.getRoomId(), room.getHotelId(), room.getRoomType(),
+                    Boolean.TRUE.equals(room.isAvailable()), nights);
+            occupancyCounters.addRoom(entry.hotelId, entry.roomType);
+            countNights(entry, 1);
+            rooms.put(entry.roomId, entry);
+            List<RoomNights> sameType = roomsByHotel.computeIfAbsent(entry.hotelId, k -> new EnumMap<>(RoomType.class))
+                    .computeIfAbsent(entry.roomType, k -> new ArrayList<>());
+            int position = sameType.size();
+            while (position > 0 && sameType.get(position - 1).roomId > entry.roomId) {
+                position--;
+            }
+            sameType.add(position, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRoom(int roomId) {
+        lock.writeLock().lock();
+        try {
+            RoomNights existing = rooms.remove(roomId);
+            if (existing != null) {
+                unlink(existing);
+                countNights(existing, -1);
+                occupancyCounters.removeRoom(existing.hotelId, existing.roomType);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Stays are half-open [startDate, endDate); nights outside the horizon are ignored.
+    public void reserve(int roomId, LocalDate startDate, LocalDate endDate) {
+        mark(roomId, startDate, endDate, true);
+    }
+
+    public void release(int roomId, LocalDate startDate, LocalDate endDate) {
+        mark(roomId, startDate, endDate, false);
+    }
+
+    public boolean isAvailable(int roomId, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            checkCovered(startDate, endDate);
+            int from = horizon.indexOf(startDate);
+            int to = horizon.indexOf(endDate);
+            RoomNights room = rooms.get(roomId);
+            return room != null && room.inService && isFree(room.nights, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Room IDs in ascending order within the hotel and type; a limit of 0 or less means no limit.
+    public List<Integer> findAvailable(int hotelId, RoomType roomType, LocalDate startDate, LocalDate endDate, int limit) {
+        List<Integer> available = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            checkCovered(startDate, endDate);
+            int from = horizon.indexOf(startDate);
+            int to = horizon.indexOf(endDate);
+            Map<RoomType, List<RoomNights>> byType = roomsByHotel.get(hotelId);
+            List<RoomNights> candidates = byType == null ? null : byType.get(roomType);
+            if (candidates == null) {
+                return available;
+            }
+            for (RoomNights room : candidates) {
+                if (room.inService && isFree(room.nights, from, to)) {
+                    available.add(room.roomId);
+                    if (available.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return available;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mark(int roomId, LocalDate startDate, LocalDate endDate, boolean occupied) {
+        lock.writeLock().lock();
+        try {
+            int from = horizon.clampedIndexOf(startDate);
+            int to = horizon.clampedIndexOf(endDate);
+            if (from >= to) {
+                return;
+            }
+            RoomNights room = rooms.get(roomId);
+            if (room == null) {
+                return;
+            }
+            // Only nights whose bit actually flips move the counters, so repeated marks are harmless.
+            int delta = occupied ? 1 : -1;
+            for (int day = from; day < to; day++) {
+                if (room.nights.get(day) != occupied) {
+                    occupancyCounters.adjust(room.hotelId, room.roomType, day, delta);
+                }
+            }
+            room.nights.set(from, to, occupied);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // nextSetBit skips whole zero words, so a free stay costs one probe per 64 nights.
+    private static boolean isFree(BitSet nights, int from, int to) {
+        int next = nights.nextSetBit(from);
+        return next < 0 || next >= to;
+    }
+
+    private void countNights(RoomNights room, int delta) {
+        for (int day = room.nights.nextSetBit(0); day >= 0; day = room.nights.nextSetBit(day + 1)) {
+            occupancyCounters.adjust(room.hotelId, room.roomType, day, delta);
+        }
+    }
+
+    private void unlink(RoomNights entry) {
+        Map<RoomType, List<RoomNights>> byType = roomsByHotel.get(entry.hotelId);
+        if (byType == null) {
+            return;
+        }
+        List<RoomNights> sameType = byType.get(entry.roomType);
+        if (sameType != null) {
+            sameType.remove(entry);
+            if (sameType.isEmpty()) {
+                byType.remove(entry.roomType);
+            }
+        }
+        if (byType.isEmpty()) {
+            roomsByHotel.remove(entry.hotelId);
+        }
+    }
+
+    private void checkCovered(LocalDate startDate, LocalDate endDate) {
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date: " + startDate + " to " + endDate);
+        }
+        if (!horizon.covers(startDate, endDate)) {
+            throw new IllegalArgumentException("Dates " + startDate + " to " + endDate + " are outside the availability horizon " + horizon);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package main.java.com.hotelreservation.availability;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/*
+ * Occupied-room counts per night, per hotel and room type, laid out over the availability horizon.
+ * The counters are written only by AvailabilityIndex while it holds its write lock, as room-night bits flip,
+ * so they can never drift from the bitsets. Nights outside the horizon count as unoccupied. The horizon only
+ * moves forward, together with the bitsets, when AvailabilityIndex rolls it to a new day.
+ */
+public class OccupancyCounters {
+    private volatile DayHorizon horizon;
+    private final ReadWriteLock lock;
+    private final Counter total;
+    private final Map<Integer, Map<RoomType, Counter>> byHotel = new HashMap<>();
+
+    private static class Counter {
+        int rooms;
+        final int[] occupied;
+
+        Counter(int days) {
+            this.occupied = new int[days];
+        }
+    }
+
+    OccupancyCounters(DayHorizon horizon, ReadWriteLock lock) {
+        this.horizon = horizon;
+        this.lock = lock;
+        this.total = new Counter(horizon.getDays());
+    }
+
+    public DayHorizon getHorizon() {
+        return horizon;
+    }
+
+    public int getRoomCount() {
+        lock.readLock().lock();
+        try {
+            return total.rooms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRoomCount(int hotelId, RoomType roomType) {
+        lock.readLock().lock();
+        try {
+            Counter counter = find(hotelId, roomType);
+            return counter == null ? 0 : counter.rooms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getOccupiedRooms(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            if (!horizon.covers(date)) {
+                return 0;
+            }
+            return total.occupied[horizon.indexOf(date)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getOccupiedRooms(int hotelId, RoomType roomType, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            if (!horizon.covers(date)) {
+                return 0;
+            }
+            Counter counter = find(hotelId, roomType);
+            return counter == null ? 0 : counter.occupied[horizon.indexOf(date)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mean over the nights [startDate, endDate) of occupied rooms / rooms, across every hotel.
+    public double averageOccupancy(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return average(total, startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double averageOccupancy(int hotelId, RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return average(find(hotelId, roomType), startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double maxOccupancy(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return max(total, startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double maxOccupancy(int hotelId, RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return max(find(hotelId, roomType), startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void addRoom(int hotelId, RoomType roomType) {
+        total.rooms++;
+        group(hotelId, roomType).rooms++;
+    }
+
+    void removeRoom(int hotelId, RoomType roomType) {
+        total.rooms--;
+        Counter counter = group(hotelId, roomType);
+        counter.rooms--;
+        if (counter.rooms == 0) {
+            Map<RoomType, Counter> byType = byHotel.get(hotelId);
+            byType.remove(roomType);
+            if (byType.isEmpty()) {
+                byHotel.remove(hotelId);
+            }
+        }
+    }
+
+    void adjust(int hotelId, RoomType roomType, int day, int delta) {
+        total.occupied[day] += delta;
+        group(hotelId, roomType).occupied[day] += delta;
+    }
+
+    // Drops the first days nights and opens as many empty ones at the end.
+    void shift(DayHorizon next, int days) {
+        shift(total, days);
+        for (Map<RoomType, Counter> byType : byHotel.values()) {
+            for (Counter counter : byType.values()) {
+                shift(counter, days);
+            }
+        }
+        this.horizon = next;
+    }
+
+    private static void shift(Counter counter, int days) {
+        int kept = Math.max(0, counter.occupied.length - days);
+        System.arraycopy(counter.occupied, counter.occupied.length - kept, counter.occupied, 0, kept);
+        Arrays.fill(counter.occupied, kept, counter.occupied.length, 0);
+    }
+
+    private Counter group(int hotelId, RoomType roomType) {
+        return byHotel.computeIfAbsent(hotelId, k -> new EnumMap<>(RoomType.class))
+                .computeIfAbsent(roomType, k -> new Counter(horizon.getDays()));
+    }
+
+    private Counter find(int hotelId, RoomType roomType) {
+        Map<RoomType, Counter> byType = byHotel.get(hotelId);
+        return byType == null ? null : byType.get(roomType);
+    }
+
+    private double average(Counter counter, LocalDate startDate, LocalDate endDate) {
+        long nights = endDate.toEpochDay() - startDate.toEpochDay();
+        if (counter == null || counter.rooms == 0 || nights <= 0) {
+            return 0;
+        }
+        long occupiedNights = 0;
+        for (int day = horizon.clampedIndexOf(startDate), to = horizon.clampedIndexOf(endDate); day < to; day++) {
+            occupiedNights += counter.occupied[day];
+        }
+        return (double) occupiedNights / (nights * counter.rooms);
+    }
+
+    private double max(Counter counter, LocalDate startDate, LocalDate endDate) {
+        if (counter == null || counter.rooms == 0) {
+            return 0;
+        }
+        int peak = 0;
+        for (int day = horizon.clampedIndexOf(startDate), to = horizon.clampedIndexOf(endDate); day < to; day++) {
+            peak = Math.max(peak, counter.occupied[day]);
+        }
+        return (double) peak / counter.rooms;
+    }
+}
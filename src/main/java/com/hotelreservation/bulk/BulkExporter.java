@@ -0,0 +1,43 @@
+package main.java.com.hotelreservation.bulk;
+
+import main.java.com.hotelreservation.util.DatabaseConnection;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+public class BulkExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public CopyResult exportFile(CopyTable table, Path file, CopyFormat format) {
+        try (OutputStream out = openOutput(file)) {
+            return exportStream(table, out, format);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing " + file, e);
+        }
+    }
+
+    public CopyResult exportStream(CopyTable table, OutputStream out, CopyFormat format) {
+        String sql = "COPY " + table.getTableName() + " (" + table.getColumns() + ") TO STDOUT WITH (" + format.getOptions() + ")";
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+            long rows = copyManager.copyOut(sql, out);
+            return new CopyResult(rows, System.nanoTime() - start);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Error exporting " + table.getTableName(), e);
+        }
+    }
+
+    private OutputStream openOutput(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+}
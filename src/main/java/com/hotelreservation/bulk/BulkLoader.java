@@ -0,0 +1,61 @@
+package main.java.com.hotelreservation.bulk;
+
+import main.java.com.hotelreservation.util.DatabaseConnection;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.GZIPInputStream;
+
+public class BulkLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public CopyResult importFile(CopyTable table, Path file, CopyFormat format) {
+        try (InputStream in = openInput(file)) {
+            return importStream(table, in, format);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading " + file, e);
+        }
+    }
+
+    public CopyResult importStream(CopyTable table, InputStream in, CopyFormat format) {
+        String sql = "COPY " + table.getTableName() + " (" + table.getColumns() + ") FROM STDIN WITH (" + format.getOptions() + ")";
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+                long rows = copyManager.copyIn(sql, in, BUFFER_SIZE);
+                resetKeySequence(conn, table);
+                conn.commit();
+                return new CopyResult(rows, System.nanoTime() - start);
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Error importing into " + table.getTableName(), e);
+        }
+    }
+
+    // Rows arrive with their original IDs, so move the serial sequence past them before anyone inserts again.
+    private void resetKeySequence(Connection conn, CopyTable table) throws SQLException {
+        String sql = "SELECT setval(pg_get_serial_sequence('" + table.getTableName() + "', '" + table.getKeyColumn() + "'), "
+                + "COALESCE(MAX(" + table.getKeyColumn() + "), 0) + 1, false) FROM " + table.getTableName();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private InputStream openInput(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+}
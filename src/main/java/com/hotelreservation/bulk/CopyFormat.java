@@ -0,0 +1,16 @@
+package main.java.com.hotelreservation.bulk;
+
+public enum CopyFormat {
+    CSV("FORMAT csv, HEADER true"),
+    BINARY("FORMAT binary");
+
+    private final String options;
+
+    CopyFormat(String options) {
+        this.options = options;
+    }
+
+    public String getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,28 @@
+package main.java.com.hotelreservation.bulk;
+
+public class CopyResult {
+    private final long rows;
+    private final long elapsedNanos;
+
+    public CopyResult(long rows, long elapsedNanos) {
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows / getElapsedSeconds();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d rows in %.2f s (%,.0f rows/sec)", rows, getElapsedSeconds(), getRowsPerSecond());
+    }
+}
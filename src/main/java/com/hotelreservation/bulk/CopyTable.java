@@ -0,0 +1,30 @@
+package main.java.com.hotelreservation.bulk;
+
+public enum CopyTable {
+    HOTELS("hotels", "hotel_id", "hotel_id, name, address"),
+    CUSTOMERS("customers", "customer_id", "customer_id, name, email, phone_number"),
+    ROOMS("rooms", "room_id", "room_id, room_type, is_available, hotel_id"),
+    RESERVATIONS("reservations", "reservation_id", "reservation_id, customer_id, room_id, start_date, end_date, status, total_price");
+
+    private final String tableName;
+    private final String keyColumn;
+    private final String columns;
+
+    CopyTable(String tableName, String keyColumn, String columns) {
+        this.tableName = tableName;
+        this.keyColumn = keyColumn;
+        this.columns = columns;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+}
@@ -1,16 +1,44 @@
 package main.java.com.hotelreservation.dao;
 
 import main.java.com.hotelreservation.model.Customer;
+import main.java.com.hotelreservation.util.JdbcBatch;
+import main.java.com.hotelreservation.util.JdbcStreams;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerDAO {
     Optional<Customer> findById(int id);
     List<Customer> findAll();
+    Stream<Customer> streamAll(int fetchSize);
     void save(Customer customer);
     void update(Customer customer);
     void delete(int id);
     Optional<Customer> findByEmail(String email);
     List<Customer> findByName(String name);
+    Page<Customer> findPage(String pageToken, int pageSize);
+    Page<Customer> findPageByName(String name, String pageToken, int pageSize);
+    Map<Integer, Customer> findAllByIds(Collection<Integer> ids);
+    int[] saveAll(List<Customer> customers, int batchSize);
+    void updateAll(List<Customer> customers, int batchSize);
+    void deleteAll(List<Integer> ids, int batchSize);
+
+    default Stream<Customer> streamAll() {
+        return streamAll(JdbcStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    default int[] saveAll(List<Customer> customers) {
+        return saveAll(customers, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void updateAll(List<Customer> customers) {
+        updateAll(customers, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void deleteAll(List<Integer> ids) {
+        deleteAll(ids, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
 }
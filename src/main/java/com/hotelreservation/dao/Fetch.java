@@ -0,0 +1,7 @@
+package main.java.com.hotelreservation.dao;
+
+public enum Fetch {
+    CUSTOMER,
+    ROOM,
+    HOTEL
+}
@@ -1,7 +1,11 @@
 package main.java.com.hotelreservation.dao;
 
 import main.java.com.hotelreservation.model.Hotel;
+import main.java.com.hotelreservation.util.JdbcBatch;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface HotelDAO {
@@ -12,4 +16,21 @@ public interface HotelDAO {
     void delete(int id);
     List<Hotel> findByName(String name);
     Optional<Hotel> findByAddress(String address);
+    Page<Hotel> findPage(String pageToken, int pageSize);
+    Map<Integer, Hotel> findAllByIds(Collection<Integer> ids);
+    int[] saveAll(List<Hotel> hotels, int batchSize);
+    void updateAll(List<Hotel> hotels, int batchSize);
+    void deleteAll(List<Integer> ids, int batchSize);
+
+    default int[] saveAll(List<Hotel> hotels) {
+        return saveAll(hotels, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void updateAll(List<Hotel> hotels) {
+        updateAll(hotels, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void deleteAll(List<Integer> ids) {
+        deleteAll(ids, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
 }
@@ -0,0 +1,35 @@
+package main.java.com.hotelreservation.dao;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+
+    public Page(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    // Repositories query pageSize + 1 rows; the extra row only tells us whether another page exists.
+    public static <T> Page<T> of(List<T> rows, int pageSize, Function<T, String> tokenOf) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new Page<>(items, tokenOf.apply(items.get(pageSize - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+}
@@ -2,21 +2,64 @@ package main.java.com.hotelreservation.dao;
 
 import main.java.com.hotelreservation.model.Reservation;
 import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.JdbcBatch;
+import main.java.com.hotelreservation.util.JdbcStreams;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ReservationDAO{
     List<Reservation> findByDateRange(String startDate, String endDate);
 
     Optional<Reservation> findById(int Id);
     List<Reservation> findAll();
+    Stream<Reservation> streamAll(int fetchSize);
+    Stream<Reservation> streamOverlapping(LocalDate startDate, LocalDate endDate, int fetchSize);
+    Stream<Reservation> streamConfirmedByRoomType(RoomType roomType, LocalDate startDate, LocalDate endDate, int fetchSize);
     Reservation save(Reservation reservation);
     void update(Reservation reservation);
     void delete(int id);
     List<Reservation> findByCustomerId(int customerId);
     List<Reservation> findByDateRange(LocalDate startDate, LocalDate endDate);
+    List<Reservation> findByDateRange(LocalDate startDate, LocalDate endDate, Fetch... fetch);
+    List<Reservation> findOverlapping(LocalDate startDate, LocalDate endDate);
+    List<Reservation> findArrivals(LocalDate date, Fetch... fetch);
     List<Reservation> findByRoomId(int roomId);
     List<Reservation> findByStatus(ReservationStatus status);
+    Page<Reservation> findPage(String pageToken, int pageSize);
+    Page<Reservation> findPageByStatus(ReservationStatus status, String pageToken, int pageSize);
+    Page<Reservation> findPageByCustomerId(int customerId, String pageToken, int pageSize);
+    Map<Integer, Reservation> findAllByIds(Collection<Integer> ids);
+    int[] saveAll(List<Reservation> reservations, int batchSize);
+    void updateAll(List<Reservation> reservations, int batchSize);
+    void deleteAll(List<Integer> ids, int batchSize);
+
+    default Stream<Reservation> streamAll() {
+        return streamAll(JdbcStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    default Stream<Reservation> streamOverlapping(LocalDate startDate, LocalDate endDate) {
+        return streamOverlapping(startDate, endDate, JdbcStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    default Stream<Reservation> streamConfirmedByRoomType(RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        return streamConfirmedByRoomType(roomType, startDate, endDate, JdbcStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    default int[] saveAll(List<Reservation> reservations) {
+        return saveAll(reservations, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void updateAll(List<Reservation> reservations) {
+        updateAll(reservations, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void deleteAll(List<Integer> ids) {
+        deleteAll(ids, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
 }
@@ -2,8 +2,12 @@ package main.java.com.hotelreservation.dao;
 
 import main.java.com.hotelreservation.model.Room;
 import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.JdbcBatch;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface RoomDAO {
@@ -17,4 +21,21 @@ public interface RoomDAO {
     List<Room> findByType(RoomType type);
     List<Room> findAvailableRooms();
     List<Room> findByHotelId(int hotelId);
+    List<Room> findAvailable(int hotelId, RoomType roomType, LocalDate startDate, LocalDate endDate, int limit);
+    Map<Integer, Room> findAllByIds(Collection<Integer> ids);
+    int[] saveAll(List<Room> rooms, int batchSize);
+    void updateAll(List<Room> rooms, int batchSize);
+    void deleteAll(List<Integer> ids, int batchSize);
+
+    default int[] saveAll(List<Room> rooms) {
+        return saveAll(rooms, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void updateAll(List<Room> rooms) {
+        updateAll(rooms, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    default void deleteAll(List<Integer> ids) {
+        deleteAll(ids, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
 }
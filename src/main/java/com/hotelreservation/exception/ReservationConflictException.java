@@ -0,0 +1,30 @@
+package main.java.com.hotelreservation.exception;
+
+import java.time.LocalDate;
+
+public class ReservationConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int roomId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public ReservationConflictException(int roomId, LocalDate startDate, LocalDate endDate, Throwable cause) {
+        super("Room " + roomId + " is already booked for part of " + startDate + " to " + endDate, cause);
+        this.roomId = roomId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
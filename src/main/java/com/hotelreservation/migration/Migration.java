@@ -0,0 +1,37 @@
+package main.java.com.hotelreservation.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public class Migration {
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+
+    public Migration(int version, String description, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = List.of(statements);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public long getChecksum() {
+        CRC32 crc = new CRC32();
+        for (String statement : statements) {
+            crc.update(statement.getBytes(StandardCharsets.UTF_8));
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,153 @@
+package main.java.com.hotelreservation.migration;
+
+import main.java.com.hotelreservation.statistics.DailyStatsRollup;
+
+import java.util.List;
+
+// Append new versions at the end; never edit a migration that has already shipped.
+public final class Migrations {
+
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return List.of(
+                new Migration(1, "baseline schema",
+                        "DO $$ BEGIN CREATE TYPE room_type AS ENUM ('SINGLE', 'DOUBLE', 'SUITE'); "
+                                + "EXCEPTION WHEN duplicate_object THEN NULL; END $$",
+                        "DO $$ BEGIN CREATE TYPE reservation_status AS ENUM ('CONFIRMED', 'CANCELLED'); "
+                                + "EXCEPTION WHEN duplicate_object THEN NULL; END $$",
+                        "CREATE TABLE IF NOT EXISTS hotels ("
+                                + "hotel_id SERIAL PRIMARY KEY, "
+                                + "name VARCHAR(255) NOT NULL, "
+                                + "address VARCHAR(255) NOT NULL)",
+                        "CREATE TABLE IF NOT EXISTS rooms ("
+                                + "room_id SERIAL PRIMARY KEY, "
+                                + "room_type room_type NOT NULL, "
+                                + "is_available BOOLEAN NOT NULL DEFAULT TRUE, "
+                                + "hotel_id INTEGER NOT NULL REFERENCES hotels (hotel_id))",
+                        "CREATE TABLE IF NOT EXISTS customers ("
+                                + "customer_id SERIAL PRIMARY KEY, "
+                                + "name VARCHAR(255) NOT NULL, "
+                                + "email VARCHAR(255) NOT NULL, "
+                                + "phone_number VARCHAR(20))",
+                        "CREATE TABLE IF NOT EXISTS reservations ("
+                                + "reservation_id SERIAL PRIMARY KEY, "
+                                + "customer_id INTEGER NOT NULL REFERENCES customers (customer_id), "
+                                + "room_id INTEGER NOT NULL REFERENCES rooms (room_id), "
+                                + "start_date DATE NOT NULL, "
+                                + "end_date DATE NOT NULL, "
+                                + "status reservation_status NOT NULL, "
+                                + "total_price NUMERIC(12, 2), "
+                                + "CHECK (end_date > start_date))",
+                        "CREATE TABLE IF NOT EXISTS base_prices ("
+                                + "room_type room_type PRIMARY KEY, "
+                                + "price NUMERIC(10, 2) NOT NULL)",
+                        "INSERT INTO base_prices (room_type, price) "
+                                + "VALUES ('SINGLE', 100), ('DOUBLE', 150), ('SUITE', 250) "
+                                + "ON CONFLICT DO NOTHING",
+                        "CREATE TABLE IF NOT EXISTS seasonal_pricing ("
+                                + "season_id SERIAL PRIMARY KEY, "
+                                + "start_date DATE NOT NULL, "
+                                + "end_date DATE NOT NULL, "
+                                + "multiplier DOUBLE PRECISION NOT NULL)",
+                        "CREATE TABLE IF NOT EXISTS event_pricing ("
+                                + "event_id SERIAL PRIMARY KEY, "
+                                + "event_date DATE NOT NULL, "
+                                + "event_name VARCHAR(255) NOT NULL, "
+                                + "multiplier DOUBLE PRECISION NOT NULL)"),
+                new Migration(2, "indexes for repository lookups",
+                        "CREATE INDEX IF NOT EXISTS idx_reservations_customer ON reservations (customer_id, start_date, reservation_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_reservations_room ON reservations (room_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_reservations_status ON reservations (status, start_date, reservation_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_reservations_dates ON reservations (start_date, end_date)",
+                        "CREATE INDEX IF NOT EXISTS idx_customers_email ON customers (email)",
+                        "CREATE INDEX IF NOT EXISTS idx_rooms_hotel ON rooms (hotel_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_rooms_type ON rooms (room_type)",
+                        "CREATE INDEX IF NOT EXISTS idx_hotels_address ON hotels (address)",
+                        "CREATE INDEX IF NOT EXISTS idx_event_pricing_date ON event_pricing (event_date)"),
+                new Migration(3, "stay overlap index and no-double-booking constraint",
+                        "CREATE EXTENSION IF NOT EXISTS btree_gist",
+                        "CREATE INDEX IF NOT EXISTS idx_reservations_stay ON reservations "
+                                + "USING gist (daterange(start_date, end_date))",
+                        "DO $$ BEGIN ALTER TABLE reservations ADD CONSTRAINT reservations_no_double_booking "
+                                + "EXCLUDE USING gist (room_id WITH =, daterange(start_date, end_date) WITH &&) "
+                                + "WHERE (status = 'CONFIRMED'); "
+                                + "EXCEPTION WHEN duplicate_object OR duplicate_table THEN NULL; END $$"),
+                new Migration(4, "room search index",
+                        "CREATE INDEX IF NOT EXISTS idx_rooms_hotel_type ON rooms (hotel_id, room_type, room_id)"),
+                new Migration(5, "pricing revision counter",
+                        "CREATE TABLE IF NOT EXISTS pricing_revision ("
+                                + "singleton BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (singleton), "
+                                + "revision BIGINT NOT NULL)",
+                        "INSERT INTO pricing_revision (singleton, revision) VALUES (TRUE, 0) ON CONFLICT DO NOTHING",
+                        "CREATE OR REPLACE FUNCTION bump_pricing_revision() RETURNS trigger AS $$ "
+                                + "BEGIN UPDATE pricing_revision SET revision = revision + 1; RETURN NULL; END $$ "
+                                + "LANGUAGE plpgsql",
+                        "DROP TRIGGER IF EXISTS base_prices_revision ON base_prices",
+                        "CREATE TRIGGER base_prices_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON base_prices "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()",
+                        "DROP TRIGGER IF EXISTS seasonal_pricing_revision ON seasonal_pricing",
+                        "CREATE TRIGGER seasonal_pricing_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON seasonal_pricing "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()",
+                        "DROP TRIGGER IF EXISTS event_pricing_revision ON event_pricing",
+                        "CREATE TRIGGER event_pricing_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON event_pricing "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()"),
+                new Migration(6, "pricing rule tables",
+                        "CREATE TABLE IF NOT EXISTS pricing_day_of_week ("
+                                + "day_of_week SMALLINT PRIMARY KEY CHECK (day_of_week BETWEEN 1 AND 7), "
+                                + "multiplier DOUBLE PRECISION NOT NULL)",
+                        "INSERT INTO pricing_day_of_week (day_of_week, multiplier) "
+                                + "VALUES (1, 1), (2, 1), (3, 1), (4, 1), (5, 1), (6, 1.5), (7, 1.5) "
+                                + "ON CONFLICT DO NOTHING",
+                        "CREATE TABLE IF NOT EXISTS pricing_lead_time ("
+                                + "rule_id SERIAL PRIMARY KEY, "
+                                + "min_days INTEGER NOT NULL, "
+                                + "max_days INTEGER, "
+                                + "multiplier DOUBLE PRECISION NOT NULL, "
+                                + "CHECK (max_days IS NULL OR max_days >= min_days))",
+                        "CREATE TABLE IF NOT EXISTS pricing_length_of_stay ("
+                                + "rule_id SERIAL PRIMARY KEY, "
+                                + "min_nights INTEGER NOT NULL CHECK (min_nights > 0), "
+                                + "max_nights INTEGER, "
+                                + "multiplier DOUBLE PRECISION NOT NULL, "
+                                + "CHECK (max_nights IS NULL OR max_nights >= min_nights))",
+                        "CREATE TABLE IF NOT EXISTS pricing_occupancy_tiers ("
+                                + "below_occupancy DOUBLE PRECISION PRIMARY KEY, "
+                                + "discount DOUBLE PRECISION NOT NULL)",
+                        "INSERT INTO pricing_occupancy_tiers (below_occupancy, discount) "
+                                + "VALUES (0.3, 0.2), (0.5, 0.1) "
+                                + "ON CONFLICT DO NOTHING",
+                        "CREATE TABLE IF NOT EXISTS pricing_hotel_overrides ("
+                                + "hotel_id INTEGER NOT NULL REFERENCES hotels (hotel_id), "
+                                + "room_type room_type NOT NULL, "
+                                + "price NUMERIC(10, 2) NOT NULL, "
+                                + "PRIMARY KEY (hotel_id, room_type))",
+                        "DROP TRIGGER IF EXISTS pricing_day_of_week_revision ON pricing_day_of_week",
+                        "CREATE TRIGGER pricing_day_of_week_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON pricing_day_of_week "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()",
+                        "DROP TRIGGER IF EXISTS pricing_lead_time_revision ON pricing_lead_time",
+                        "CREATE TRIGGER pricing_lead_time_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON pricing_lead_time "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()",
+                        "DROP TRIGGER IF EXISTS pricing_length_of_stay_revision ON pricing_length_of_stay",
+                        "CREATE TRIGGER pricing_length_of_stay_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON pricing_length_of_stay "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()",
+                        "DROP TRIGGER IF EXISTS pricing_occupancy_tiers_revision ON pricing_occupancy_tiers",
+                        "CREATE TRIGGER pricing_occupancy_tiers_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON pricing_occupancy_tiers "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()",
+                        "DROP TRIGGER IF EXISTS pricing_hotel_overrides_revision ON pricing_hotel_overrides",
+                        "CREATE TRIGGER pricing_hotel_overrides_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON pricing_hotel_overrides "
+                                + "FOR EACH STATEMENT EXECUTE FUNCTION bump_pricing_revision()"),
+                new Migration(7, "daily stats rollup",
+                        "CREATE TABLE IF NOT EXISTS daily_stats ("
+                                + "stat_date DATE NOT NULL, "
+                                + "hotel_id INTEGER NOT NULL, "
+                                + "room_type room_type NOT NULL, "
+                                + "occupied INTEGER NOT NULL DEFAULT 0, "
+                                + "cancelled_arrivals INTEGER NOT NULL DEFAULT 0, "
+                                + "cancelled_departures INTEGER NOT NULL DEFAULT 0, "
+                                + "PRIMARY KEY (stat_date, hotel_id, room_type))",
+                        DailyStatsRollup.REBUILD)
+        );
+    }
+}
@@ -0,0 +1,93 @@
+package main.java.com.hotelreservation.migration;
+
+import main.java.com.hotelreservation.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class QueryPlanChecker {
+    private static final long LARGE_TABLE_ROWS = Long.getLong("hoteljdbc.planCheck.largeTableRows", 10_000L);
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    // Selective repository queries with representative literals; full-table reads such as findAll are left out on purpose.
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("CustomerRepository.findById", "SELECT * FROM customers WHERE customer_id = 1");
+        QUERIES.put("CustomerRepository.findByEmail", "SELECT * FROM customers WHERE email = 'guest@example.com'");
+        QUERIES.put("CustomerRepository.findByName", "SELECT * FROM customers WHERE name LIKE '%smith%'");
+        QUERIES.put("HotelRepository.findById", "SELECT * FROM hotels WHERE hotel_id = 1");
+        QUERIES.put("HotelRepository.findByAddress", "SELECT * FROM hotels WHERE address = '1 Main Street'");
+        QUERIES.put("RoomRepository.findById", "SELECT * FROM rooms WHERE room_id = 1");
+        QUERIES.put("RoomRepository.findByHotelId", "SELECT * FROM rooms WHERE hotel_id = 1");
+        QUERIES.put("RoomRepository.findByType", "SELECT * FROM rooms WHERE room_type = 'SUITE'");
+        QUERIES.put("RoomRepository.findAvailable",
+                "SELECT r.* FROM rooms r WHERE r.hotel_id = 1 AND r.room_type = 'SUITE' AND r.is_available "
+                        + "AND NOT EXISTS (SELECT 1 FROM reservations res WHERE res.room_id = r.room_id "
+                        + "AND res.status = 'CONFIRMED' AND daterange(res.start_date, res.end_date) && daterange(CURRENT_DATE, CURRENT_DATE + 7)) "
+                        + "ORDER BY r.room_id LIMIT 20");
+        QUERIES.put("ReservationRepository.findById", "SELECT * FROM reservations WHERE reservation_id = 1");
+        QUERIES.put("ReservationRepository.findByCustomerId", "SELECT * FROM reservations WHERE customer_id = 1");
+        QUERIES.put("ReservationRepository.findByRoomId", "SELECT * FROM reservations WHERE room_id = 1");
+        QUERIES.put("ReservationRepository.findByDateRange",
+                "SELECT * FROM reservations WHERE start_date >= CURRENT_DATE AND end_date <= CURRENT_DATE + 7");
+        QUERIES.put("ReservationRepository.findOverlapping",
+                "SELECT * FROM reservations WHERE daterange(start_date, end_date) && daterange(CURRENT_DATE, CURRENT_DATE + 7)");
+        QUERIES.put("ReservationRepository.findArrivals",
+                "SELECT * FROM reservations WHERE start_date = CURRENT_DATE AND status = 'CONFIRMED'");
+        QUERIES.put("ReservationRepository.findPageByStatus",
+                "SELECT * FROM reservations WHERE status = 'CONFIRMED' AND (start_date, reservation_id) > (CURRENT_DATE, 0) "
+                        + "ORDER BY start_date, reservation_id LIMIT 21");
+        QUERIES.put("ReservationRepository.findPageByCustomerId",
+                "SELECT * FROM reservations WHERE customer_id = 1 ORDER BY start_date, reservation_id LIMIT 21");
+    }
+
+    public List<String> findSequentialScans() {
+        List<String> findings = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                for (String table : scannedTables(conn, query.getValue())) {
+                    long rows = estimatedRows(conn, table);
+                    if (rows >= LARGE_TABLE_ROWS) {
+                        findings.add(String.format("%s: sequential scan on %s (~%,d rows)", query.getKey(), table, rows));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error checking query plans", e);
+        }
+        return findings;
+    }
+
+    private List<String> scannedTables(Connection conn, String sql) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                Matcher matcher = SEQ_SCAN.matcher(rs.getString(1));
+                if (matcher.find()) {
+                    tables.add(matcher.group(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private long estimatedRows(Connection conn, String table) throws SQLException {
+        String sql = "SELECT reltuples::BIGINT FROM pg_class WHERE relname = ? AND relkind = 'r'";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, table);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package main.java.com.hotelreservation.migration;
+
+import main.java.com.hotelreservation.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SchemaMigrator {
+    // Arbitrary application-wide key so that nodes starting together apply migrations one at a time.
+    private static final long MIGRATION_LOCK_KEY = 0x484A4442L;
+
+    private final List<Migration> migrations;
+
+    public SchemaMigrator() {
+        this(Migrations.all());
+    }
+
+    public SchemaMigrator(List<Migration> migrations) {
+        this.migrations = migrations;
+    }
+
+    public int migrate() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int applied = applyPending(conn);
+                conn.commit();
+                return applied;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error migrating database schema", e);
+        }
+    }
+
+    private int applyPending(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK_KEY + ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INTEGER PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "checksum BIGINT NOT NULL, "
+                    + "applied_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+        }
+
+        Map<Integer, Long> appliedChecksums = loadAppliedChecksums(conn);
+        int applied = 0;
+        for (Migration migration : migrations) {
+            Long checksum = appliedChecksums.get(migration.getVersion());
+            if (checksum != null) {
+                if (checksum != migration.getChecksum()) {
+                    System.out.println("Warning: migration V" + migration.getVersion()
+                            + " has changed since it was applied.");
+                }
+                continue;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.getStatements()) {
+                    stmt.execute(sql);
+                }
+            }
+            recordApplied(conn, migration);
+            System.out.println("Applied migration V" + migration.getVersion() + ": " + migration.getDescription());
+            applied++;
+        }
+        return applied;
+    }
+
+    private Map<Integer, Long> loadAppliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> checksums = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                checksums.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        }
+        return checksums;
+    }
+
+    private void recordApplied(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.getVersion());
+            pstmt.setString(2, migration.getDescription());
+            pstmt.setLong(3, migration.getChecksum());
+            pstmt.executeUpdate();
+        }
+    }
+}
@@ -9,6 +9,7 @@ public class Reservation {
     private int reservationId;
     private Customer customer;;
     private int roomId;
+    private Room room;
     private LocalDate startDate;
     private LocalDate endDate;
     private ReservationStatus status;
@@ -53,6 +54,14 @@ public class Reservation {
         this.roomId = roomId;
     }
 
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
     public LocalDate getStartDate() {
         return startDate;
     }
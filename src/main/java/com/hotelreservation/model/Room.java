@@ -8,6 +8,7 @@ public class Room {
     RoomType roomType;
     boolean isAvailable;
     private int hotelId;
+    private Hotel hotel;
 
     public Room(int roomId, RoomType roomType, Boolean isAvailable, int hotelId) {
         this.roomId = roomId;
@@ -41,6 +42,14 @@ public class Room {
         this.hotelId = hotelId;
     }
 
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    public void setHotel(Hotel hotel) {
+        this.hotel = hotel;
+    }
+
     public Boolean isAvailable() {
         return isAvailable;
     }
@@ -0,0 +1,266 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/*
+ * Bounded LRU cache of stay totals in front of another strategy. Occupancy only reaches a price through
+ * getOccupancyBasedDiscount, so quotes are keyed by that discount rather than by the raw rate.
+ * Every invalidation bumps a generation number; a quote computed across an invalidation is returned
+ * to its caller but never cached, so an entry can never outlive the pricing it was computed from.
+ */
+public class CachingPricingStrategy implements PricingStrategy {
+    public static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("hoteljdbc.quoteCache.maxEntries", 10_000);
+    public static final long DEFAULT_TTL_SECONDS = Long.getLong("hoteljdbc.quoteCache.ttlSeconds", 300L);
+
+    private final PricingStrategy delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<QuoteKey, CachedQuote> quotes = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // hotelId 0 stands for quotes made without a hotel.
+    private static final class QuoteKey {
+        final int hotelId;
+        final QuoteRequest stay;
+        final double discount;
+
+        QuoteKey(int hotelId, QuoteRequest stay, double discount) {
+            this.hotelId = hotelId;
+            this.stay = stay;
+            this.discount = discount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof QuoteKey)) return false;
+            QuoteKey that = (QuoteKey) o;
+            return hotelId == that.hotelId && Double.compare(discount, that.discount) == 0 && stay.equals(that.stay);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hotelId, stay, discount);
+        }
+    }
+
+    private static final class CachedQuote {
+        final double total;
+        final long createdAt;
+
+        CachedQuote(double total, long createdAt) {
+            this.total = total;
+            this.createdAt = createdAt;
+        }
+    }
+
+    public CachingPricingStrategy(PricingStrategy delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL_SECONDS);
+    }
+
+    public CachingPricingStrategy(PricingStrategy delegate, int maxEntries, long ttlSeconds) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Quote cache must hold at least one entry: " + maxEntries);
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        delegate.addChangeListener(new PricingChangeListener() {
+            @Override
+            public void basePriceChanged(RoomType roomType) {
+                invalidate(key -> key.stay.getRoomType() == roomType);
+            }
+
+            @Override
+            public void datesChanged(LocalDate startDate, LocalDate endDate) {
+                invalidate(key -> key.stay.getStartDate().isBefore(endDate.plusDays(1))
+                        && key.stay.getEndDate().isAfter(startDate));
+            }
+
+            @Override
+            public void allChanged() {
+                invalidate(key -> true);
+            }
+        });
+    }
+
+    @Override
+    public double calculatePrice(LocalDate startDate, LocalDate endDate, RoomType roomType, double occupancyRate) {
+        return calculatePrice(0, startDate, endDate, roomType, occupancyRate);
+    }
+
+    @Override
+    public double calculatePrice(int hotelId, LocalDate startDate, LocalDate endDate, RoomType roomType, double occupancyRate) {
+        QuoteKey key = new QuoteKey(hotelId, new QuoteRequest(roomType, startDate, endDate),
+                delegate.getOccupancyBasedDiscount(occupancyRate));
+        long startGeneration;
+        synchronized (this) {
+            CachedQuote cached = lookup(key, System.nanoTime());
+            if (cached != null) {
+                return cached.total;
+            }
+            startGeneration = generation;
+        }
+        double total = delegate.calculatePrice(hotelId, startDate, endDate, roomType, occupancyRate);
+        synchronized (this) {
+            if (generation == startGeneration) {
+                store(key, total, System.nanoTime());
+            }
+        }
+        return total;
+    }
+
+    // Cached stays are answered directly; the rest go to the delegate as one smaller batch.
+    @Override
+    public double[] calculatePrices(List<QuoteRequest> requests, OccupancyLookup occupancy) {
+        double[] totals = new double[requests.size()];
+        Map<LocalDate, Map<LocalDate, Double>> occupancyByStay = new HashMap<>();
+        QuoteKey[] keys = new QuoteKey[requests.size()];
+        for (int i = 0; i < keys.length; i++) {
+            QuoteRequest request = requests.get(i);
+            double occupancyRate = occupancyByStay
+                    .computeIfAbsent(request.getStartDate(), k -> new HashMap<>())
+                    .computeIfAbsent(request.getEndDate(), end -> occupancy.occupancyRate(request.getStartDate(), end));
+            keys[i] = new QuoteKey(0, request, delegate.getOccupancyBasedDiscount(occupancyRate));
+        }
+
+        // Repeated stays within the batch are sent to the delegate once.
+        Map<QuoteKey, List<Integer>> missing = new LinkedHashMap<>();
+        long startGeneration;
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (int i = 0; i < keys.length; i++) {
+                List<Integer> waiting = missing.get(keys[i]);
+                if (waiting != null) {
+                    waiting.add(i);
+                    continue;
+                }
+                CachedQuote cached = lookup(keys[i], now);
+                if (cached != null) {
+                    totals[i] = cached.total;
+                } else {
+                    missing.computeIfAbsent(keys[i], k -> new ArrayList<>()).add(i);
+                }
+            }
+            startGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return totals;
+        }
+
+        List<QuoteRequest> stays = new ArrayList<>(missing.size());
+        missing.keySet().forEach(key -> stays.add(key.stay));
+        double[] computed = delegate.calculatePrices(stays,
+                (startDate, endDate) -> occupancyByStay.get(startDate).get(endDate));
+        synchronized (this) {
+            long now = System.nanoTime();
+            int j = 0;
+            for (Map.Entry<QuoteKey, List<Integer>> entry : missing.entrySet()) {
+                double total = computed[j++];
+                entry.getValue().forEach(i -> totals[i] = total);
+                if (generation == startGeneration) {
+                    store(entry.getKey(), total, now);
+                }
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public void updateBasePrice(RoomType roomType, double newPrice) {
+        delegate.updateBasePrice(roomType, newPrice);
+    }
+
+    @Override
+    public void setSeasonalMultiplier(LocalDate startDate, LocalDate endDate, double multiplier) {
+        delegate.setSeasonalMultiplier(startDate, endDate, multiplier);
+    }
+
+    @Override
+    public void setEventPricing(LocalDate date, String eventName, double multiplier) {
+        delegate.setEventPricing(date, eventName, multiplier);
+    }
+
+    @Override
+    public void clearSeasonalPricing() {
+        delegate.clearSeasonalPricing();
+    }
+
+    @Override
+    public void clearEventPricing() {
+        delegate.clearEventPricing();
+    }
+
+    @Override
+    public double getOccupancyBasedDiscount(double occupancyRate) {
+        return delegate.getOccupancyBasedDiscount(occupancyRate);
+    }
+
+    // Listeners see changes after this cache has dropped the affected quotes.
+    @Override
+    public void addChangeListener(PricingChangeListener listener) {
+        delegate.addChangeListener(listener);
+    }
+
+    public synchronized QuoteCacheStats getStats() {
+        return new QuoteCacheStats(quotes.size(), hits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), invalidations.sum());
+    }
+
+    public synchronized void clear() {
+        invalidate(key -> true);
+    }
+
+    private CachedQuote lookup(QuoteKey key, long now) {
+        CachedQuote cached = quotes.get(key);
+        if (cached != null && now - cached.createdAt >= ttlNanos) {
+            quotes.remove(key);
+            expirations.increment();
+            cached = null;
+        }
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    private void store(QuoteKey key, double total, long now) {
+        quotes.put(key, new CachedQuote(total, now));
+        if (quotes.size() > maxEntries) {
+            Iterator<QuoteKey> eldest = quotes.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void invalidate(Predicate<QuoteKey> affected) {
+        generation++;
+        Iterator<QuoteKey> keys = quotes.keySet().iterator();
+        while (keys.hasNext()) {
+            if (affected.test(keys.next())) {
+                keys.remove();
+                invalidations.increment();
+            }
+        }
+    }
+}
@@ -2,31 +2,47 @@ package main.java.com.hotelreservation.pricing;
 
 import main.java.com.hotelreservation.model.enums.RoomType;
 import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.DayHorizon;
 
 import java.sql.*;
-import java.sql.Date;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/*
+ * Quotes read the current PricingSnapshot without locking. Local edits write the database first and then
+ * publish a copy of the snapshot with the change applied, carrying the revision their write produced; the
+ * refresher reloads all three pricing tables whenever pricing_revision moves past that, which picks up edits
+ * made by other nodes.
+ */
 public class DynamicPricing implements PricingStrategy {
 
-    private final Map<RoomType, Double> basePrices;
-    private final Map<LocalDate, Double> seasonalMultipliers;
-    private final Map<LocalDate, Map<String, Double>> eventPricing;
-    private static final double WEEKEND_MULTIPLIER = 1.5;
     private static final double DEFAULT_OCCUPANCY_DISCOUNT = 0.1;
+    private static final int PRICE_HISTORY_DAYS = Integer.getInteger("hoteljdbc.pricing.historyDays", 366);
+    private static final int PRICE_HORIZON_DAYS = Integer.getInteger("hoteljdbc.pricing.horizonDays", 730);
+    private static final long REFRESH_SECONDS = Long.getLong("hoteljdbc.pricing.refreshSeconds", 30L);
+
+    private final AtomicReference<PricingSnapshot> snapshot;
+    private final ScheduledExecutorService refresher;
+    private final List<PricingChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     public DynamicPricing() {
-        this.basePrices = new EnumMap<>(RoomType.class);
-        this.seasonalMultipliers = new HashMap<>();
-        this.eventPricing = new HashMap<>();
-        loadPricingData();
-
-        if (basePrices.isEmpty()) {
-            basePrices.put(RoomType.SINGLE, 100.0);
-            basePrices.put(RoomType.DOUBLE, 150.0);
-            basePrices.put(RoomType.SUITE, 250.0);
+        this.snapshot = new AtomicReference<>(loadSnapshot());
+        if (REFRESH_SECONDS > 0) {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "pricing-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, REFRESH_SECONDS, REFRESH_SECONDS, TimeUnit.SECONDS);
+        } else {
+            this.refresher = null;
         }
     }
 
@@ -48,150 +64,156 @@ public class DynamicPricing implements PricingStrategy {
         }
     }
 
-    private List<Map.Entry<DateRange, Double>> groupConsecutiveDates(List<Map.Entry<LocalDate, Double>> sortedEntries) {
-        List<Map.Entry<DateRange, Double>> groupedEntries = new ArrayList<>();
-        if (sortedEntries.isEmpty()) return groupedEntries;
-
-        LocalDate startDate = sortedEntries.getFirst().getKey();
-        double currentMultiplier = sortedEntries.getFirst().getValue();
+    public PricingSnapshot getSnapshot() {
+        return snapshot.get();
+    }
 
-        for (int i = 1; i < sortedEntries.size(); i++) {
-            Map.Entry<LocalDate, Double> entry = sortedEntries.get(i);
-            if (!entry.getKey().minusDays(1).equals(sortedEntries.get(i-1).getKey()) || !entry.getValue().equals(currentMultiplier)) {
-                groupedEntries.add(new AbstractMap.SimpleEntry<>(new DateRange(startDate, sortedEntries.get(i-1).getKey()), currentMultiplier));
-                startDate = entry.getKey();
-                currentMultiplier = entry.getValue();
-            }
+    // Reloads the pricing tables if their revision moved; returns true when a new snapshot was published.
+    public boolean refresh() {
+        PricingSnapshot current = snapshot.get();
+        if (loadRevision() == current.getRevision()) {
+            return false;
+        }
+        // If a local edit is published meanwhile the swap is skipped; its revision bump triggers the next reload.
+        if (!snapshot.compareAndSet(current, loadSnapshot())) {
+            return false;
         }
+        listeners.forEach(PricingChangeListener::allChanged);
+        return true;
+    }
 
-        groupedEntries.add(new AbstractMap.SimpleEntry<>(new DateRange(startDate, sortedEntries.get(sortedEntries.size()-1).getKey()), currentMultiplier));
-        return groupedEntries;
+    @Override
+    public void addChangeListener(PricingChangeListener listener) {
+        listeners.add(listener);
     }
 
-    private void loadPricingData() {
-        loadBasePrices();
-        loadSeasonalMultipliers();
-        loadEventPricing();
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
     }
 
-    private void loadBasePrices() {
-        String sql = "SELECT room_type, price FROM base_prices";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                RoomType roomType = RoomType.valueOf(rs.getString("room_type"));
-                double price = rs.getDouble("price");
-                basePrices.put(roomType, price);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Error loading base prices", e);
+    /*
+     * A local write moved pricing_revision from revision - 1 to revision. A snapshot that was at revision - 1
+     * is current once the change is applied and takes the new revision. Otherwise some other node's edit has not
+     * been loaded yet, so the old revision is kept and the refresher still reloads.
+     */
+    private static UnaryOperator<PricingSnapshot> published(long revision, UnaryOperator<PricingSnapshot> change) {
+        return s -> {
+            PricingSnapshot next = change.apply(s);
+            return s.getRevision() == revision - 1 ? next.withRevision(revision) : next;
+        };
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            System.out.println("Error refreshing pricing data: " + e.getMessage());
         }
     }
 
-    private void loadSeasonalMultipliers() {
-        String sql = "SELECT start_date, end_date, multiplier FROM seasonal_pricing";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                LocalDate startDate = rs.getDate("start_date").toLocalDate();
-                LocalDate endDate = rs.getDate("end_date").toLocalDate();
-                double multiplier = rs.getDouble("multiplier");
-                for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                    seasonalMultipliers.put(date, multiplier);
-                }
+    // The revision and all three tables are read in one REPEATABLE READ transaction so they agree.
+    private PricingSnapshot loadSnapshot() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                long revision = PricingTables.loadRevision(stmt);
+                Map<RoomType, Double> basePrices = PricingTables.loadBasePrices(stmt);
+                SeasonCalendar seasons = PricingTables.loadSeasons(stmt);
+                Map<LocalDate, Map<String, Double>> eventPricing = PricingTables.loadEvents(stmt);
+                conn.commit();
+
+                DayHorizon horizon = new DayHorizon(LocalDate.now().minusDays(PRICE_HISTORY_DAYS),
+                        PRICE_HISTORY_DAYS + PRICE_HORIZON_DAYS);
+                return PricingSnapshot.of(revision, horizon, basePrices, seasons, eventPricing);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Error loading seasonal multipliers", e);
+            throw new RuntimeException("Error loading pricing data", e);
         }
     }
 
-    private void loadEventPricing() {
-        String sql = "SELECT event_date, event_name, multiplier FROM event_pricing";
+    private long loadRevision() {
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                LocalDate eventDate = rs.getDate("event_date").toLocalDate();
-                String eventName = rs.getString("event_name");
-                double multiplier = rs.getDouble("multiplier");
-                eventPricing.computeIfAbsent(eventDate, k -> new HashMap<>()).put(eventName, multiplier);
-            }
+             Statement stmt = conn.createStatement()) {
+            return PricingTables.loadRevision(stmt);
         } catch (SQLException e) {
-            throw new RuntimeException("Error loading event pricing", e);
+            throw new RuntimeException("Error loading pricing revision", e);
         }
     }
 
     @Override
     public double calculatePrice(LocalDate startDate, LocalDate endDate, RoomType roomType , double occupancyRate) {
         long nights = ChronoUnit.DAYS.between(startDate, endDate);
-        double totalPrice = 0.0;
-
-        for (int i = 0; i < nights; i++) {
-            LocalDate currentDate = startDate.plusDays(i);
-            double dailyPrice = getBasePrice(roomType);
+        if (nights <= 0) {
+            return 0.0;
+        }
+        double occupancyFactor = 1 - getOccupancyBasedDiscount(occupancyRate);
+        return snapshot.get().totalBeforeDiscount(roomType, startDate, endDate) * occupancyFactor;
+    }
 
-            if (isWeekend(currentDate)) {
-                dailyPrice *= WEEKEND_MULTIPLIER;
+    // All requests are priced from one snapshot; stays outside its horizon share one calendar built over their span.
+    @Override
+    public double[] calculatePrices(List<QuoteRequest> requests, OccupancyLookup occupancy) {
+        PricingSnapshot current = snapshot.get();
+        PriceCalendar calendar = current.getCalendar();
+        LocalDate outsideStart = null;
+        LocalDate outsideEnd = null;
+        for (QuoteRequest request : requests) {
+            if (request.getEndDate().isAfter(request.getStartDate())
+                    && !calendar.covers(request.getStartDate(), request.getEndDate())) {
+                if (outsideStart == null || request.getStartDate().isBefore(outsideStart)) {
+                    outsideStart = request.getStartDate();
+                }
+                if (outsideEnd == null || request.getEndDate().isAfter(outsideEnd)) {
+                    outsideEnd = request.getEndDate();
+                }
             }
-
-            dailyPrice *= getSeasonalMultiplier(currentDate);
-            dailyPrice *= getEventMultiplier(currentDate);
-
-            double occupancyDiscount = getOccupancyBasedDiscount(occupancyRate);
-            dailyPrice *= (1 - occupancyDiscount);
-
-            totalPrice += dailyPrice;
         }
-
-        return totalPrice;
+        PriceCalendar outside = outsideStart == null ? null : PriceCalendar.build(
+                new DayHorizon(outsideStart, (int) ChronoUnit.DAYS.between(outsideStart, outsideEnd)), current::nightlyRate);
+
+        double[] totals = new double[requests.size()];
+        Map<LocalDate, Map<LocalDate, Double>> factorByStay = new HashMap<>();
+        for (int i = 0; i < totals.length; i++) {
+            QuoteRequest request = requests.get(i);
+            LocalDate startDate = request.getStartDate();
+            LocalDate endDate = request.getEndDate();
+            if (!endDate.isAfter(startDate)) {
+                continue;
+            }
+            double occupancyFactor = factorByStay
+                    .computeIfAbsent(startDate, k -> new HashMap<>())
+                    .computeIfAbsent(endDate, end -> 1 - getOccupancyBasedDiscount(occupancy.occupancyRate(startDate, end)));
+            PriceCalendar source = calendar.covers(startDate, endDate) ? calendar : outside;
+            totals[i] = source.total(request.getRoomType(), startDate, endDate) * occupancyFactor;
+        }
+        return totals;
     }
 
     @Override
     public void updateBasePrice(RoomType roomType, double newPrice) {
-        String sql = "UPDATE base_prices SET price = ? WHERE room_type = ?";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setDouble(1, newPrice);
-            pstmt.setObject(2, roomType.name(), Types.OTHER);
-            pstmt.executeUpdate();
-            basePrices.put(roomType, newPrice);
-        } catch (SQLException e) {
-            throw new RuntimeException("Error updating base price", e);
-        }
+        long revision = PricingTables.updateBasePrice(roomType, newPrice);
+        snapshot.updateAndGet(published(revision, s -> s.withBasePrice(roomType, newPrice)));
+        listeners.forEach(l -> l.basePriceChanged(roomType));
     }
 
     @Override
     public void setSeasonalMultiplier(LocalDate startDate, LocalDate endDate, double multiplier) {
-        String sql = "INSERT INTO seasonal_pricing (start_date, end_date, multiplier) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setDate(1, Date.valueOf(startDate));
-            pstmt.setDate(2, Date.valueOf(endDate));
-            pstmt.setDouble(3, multiplier);
-            pstmt.executeUpdate();
-            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                seasonalMultipliers.put(date, multiplier);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Error setting seasonal multiplier", e);
-        }
+        long revision = PricingTables.insertSeason(startDate, endDate, multiplier);
+        snapshot.updateAndGet(published(revision, s -> s.withSeason(startDate, endDate, multiplier)));
+        listeners.forEach(l -> l.datesChanged(startDate, endDate));
     }
 
     @Override
     public void setEventPricing(LocalDate date, String eventName, double multiplier) {
-        String sql = "INSERT INTO event_pricing (event_date, event_name, multiplier) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setDate(1, Date.valueOf(date));
-            pstmt.setString(2, eventName);
-            pstmt.setDouble(3, multiplier);
-            pstmt.executeUpdate();
-            eventPricing.computeIfAbsent(date, k -> new HashMap<>()).put(eventName, multiplier);
-        } catch (SQLException e) {
-            throw new RuntimeException("Error setting event pricing", e);
-        }
+        long revision = PricingTables.insertEvent(date, eventName, multiplier);
+        snapshot.updateAndGet(published(revision, s -> s.withEvent(date, eventName, multiplier)));
+        listeners.forEach(l -> l.datesChanged(date, date));
     }
 
     @Override
@@ -204,61 +226,47 @@ public class DynamicPricing implements PricingStrategy {
         return 0; // No discount for occupancy 50% or higher
     }
 
-    private boolean isWeekend(LocalDate date) {
-        int dayOfWeek = date.getDayOfWeek().getValue();
-        return dayOfWeek == 6 || dayOfWeek == 7; // Saturday or Sunday
-    }
-
-    private double getSeasonalMultiplier(LocalDate date) {
-        return seasonalMultipliers.getOrDefault(date, 1.0);
-    }
-
-    private double getEventMultiplier(LocalDate date) {
-        Map<String, Double> events = eventPricing.get(date);
-        if (events != null && !events.isEmpty()) {
-            return events.values().stream().max(Double::compare).orElse(1.0);
-        }
-        return 1.0;
-    }
-
     public double getBasePrice(RoomType roomType) {
-        return basePrices.getOrDefault(roomType, 0.0);
+        return snapshot.get().getBasePrice(roomType);
     }
 
+    @Override
     public void clearSeasonalPricing() {
-        String sql = "DELETE FROM seasonal_pricing";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(sql);
-            seasonalMultipliers.clear();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error clearing seasonal pricing", e);
+        long revision = PricingTables.deleteSeasons();
+        PricingSnapshot previous = snapshot.getAndUpdate(published(revision, PricingSnapshot::withoutSeasons));
+        SeasonCalendar cleared = previous.getSeasons();
+        if (cleared.size() > 0) {
+            LocalDate first = cleared.getStartDate(0);
+            LocalDate last = cleared.getEndDate(cleared.size() - 1);
+            listeners.forEach(l -> l.datesChanged(first, last));
         }
     }
 
+    @Override
     public void clearEventPricing() {
-        String sql = "DELETE FROM event_pricing";
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(sql);
-            eventPricing.clear();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error clearing event pricing", e);
+        long revision = PricingTables.deleteEvents();
+        PricingSnapshot previous = snapshot.getAndUpdate(published(revision, PricingSnapshot::withoutEvents));
+        for (LocalDate date : previous.getEvents().keySet()) {
+            listeners.forEach(l -> l.datesChanged(date, date));
         }
     }
 
     public Map<RoomType, Double> getCurrentBasePrices() {
-        return new EnumMap<>(basePrices);
+        return new EnumMap<>(snapshot.get().getBasePrices());
     }
 
     public List<Map.Entry<DateRange, Double>> getSeasonalPricingInfo() {
-        List<Map.Entry<LocalDate, Double>> sortedEntries = new ArrayList<>(seasonalMultipliers.entrySet());
-        sortedEntries.sort(Map.Entry.comparingByKey());
-        return groupConsecutiveDates(sortedEntries);
+        SeasonCalendar seasons = snapshot.get().getSeasons();
+        List<Map.Entry<DateRange, Double>> info = new ArrayList<>(seasons.size());
+        for (int i = 0; i < seasons.size(); i++) {
+            info.add(new AbstractMap.SimpleEntry<>(
+                    new DateRange(seasons.getStartDate(i), seasons.getEndDate(i)), seasons.getMultiplier(i)));
+        }
+        return info;
     }
 
     public List<Map.Entry<LocalDate, Map<String, Double>>> getEventPricingInfo() {
-        List<Map.Entry<LocalDate, Map<String, Double>>> info = new ArrayList<>(eventPricing.entrySet());
+        List<Map.Entry<LocalDate, Map<String, Double>>> info = new ArrayList<>(snapshot.get().getEvents().entrySet());
         info.sort(Map.Entry.comparingByKey());
         return info;
     }
@@ -0,0 +1,111 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Pre-discount nightly rates per room type over a fixed horizon, with running totals so that any stay
+ * inside the horizon costs prefix[end] - prefix[start]. Instances are immutable; a rebuild copies the
+ * arrays and recomputes only the affected room type or the nights from the first changed date onwards.
+ */
+public final class PriceCalendar {
+
+    @FunctionalInterface
+    public interface NightlyRate {
+        double rateOn(RoomType roomType, LocalDate date);
+    }
+
+    private final DayHorizon horizon;
+    private final Map<RoomType, double[]> rates;
+    private final Map<RoomType, double[]> prefixTotals;
+
+    private PriceCalendar(DayHorizon horizon, Map<RoomType, double[]> rates, Map<RoomType, double[]> prefixTotals) {
+        this.horizon = horizon;
+        this.rates = rates;
+        this.prefixTotals = prefixTotals;
+    }
+
+    public static PriceCalendar build(DayHorizon horizon, NightlyRate nightlyRate) {
+        Map<RoomType, double[]> rates = new EnumMap<>(RoomType.class);
+        Map<RoomType, double[]> prefixTotals = new EnumMap<>(RoomType.class);
+        for (RoomType roomType : RoomType.values()) {
+            double[] typeRates = new double[horizon.getDays()];
+            fillRates(horizon, roomType, typeRates, 0, typeRates.length, nightlyRate);
+            rates.put(roomType, typeRates);
+            prefixTotals.put(roomType, accumulate(typeRates, new double[typeRates.length + 1], 0));
+        }
+        return new PriceCalendar(horizon, rates, prefixTotals);
+    }
+
+    public PriceCalendar rebuild(RoomType roomType, NightlyRate nightlyRate) {
+        Map<RoomType, double[]> newRates = new EnumMap<>(rates);
+        Map<RoomType, double[]> newPrefixTotals = new EnumMap<>(prefixTotals);
+        double[] typeRates = new double[horizon.getDays()];
+        fillRates(horizon, roomType, typeRates, 0, typeRates.length, nightlyRate);
+        newRates.put(roomType, typeRates);
+        newPrefixTotals.put(roomType, accumulate(typeRates, new double[typeRates.length + 1], 0));
+        return new PriceCalendar(horizon, newRates, newPrefixTotals);
+    }
+
+    // endDate is inclusive, like seasonal_pricing rows; nights outside the horizon are ignored.
+    public PriceCalendar rebuild(LocalDate startDate, LocalDate endDate, NightlyRate nightlyRate) {
+        int from = horizon.clampedIndexOf(startDate);
+        int to = horizon.clampedIndexOf(endDate.plusDays(1));
+        if (from >= to) {
+            return this;
+        }
+        Map<RoomType, double[]> newRates = new EnumMap<>(RoomType.class);
+        Map<RoomType, double[]> newPrefixTotals = new EnumMap<>(RoomType.class);
+        for (RoomType roomType : RoomType.values()) {
+            double[] typeRates = rates.get(roomType).clone();
+            fillRates(horizon, roomType, typeRates, from, to, nightlyRate);
+            newRates.put(roomType, typeRates);
+            newPrefixTotals.put(roomType, accumulate(typeRates, prefixTotals.get(roomType).clone(), from));
+        }
+        return new PriceCalendar(horizon, newRates, newPrefixTotals);
+    }
+
+    public DayHorizon getHorizon() {
+        return horizon;
+    }
+
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return horizon.covers(startDate, endDate);
+    }
+
+    public double rateOn(RoomType roomType, LocalDate date) {
+        return rates.get(roomType)[horizon.indexOf(date)];
+    }
+
+    // Sum of the nightly rates for [startDate, endDate); the caller checks covers() first.
+    public double total(RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        double[] totals = prefixTotals.get(roomType);
+        return totals[horizon.indexOf(endDate)] - totals[horizon.indexOf(startDate)];
+    }
+
+    // Same as total(), with the stay given as horizon indices [startIndex, endIndex).
+    public double total(RoomType roomType, int startIndex, int endIndex) {
+        double[] totals = prefixTotals.get(roomType);
+        return totals[endIndex] - totals[startIndex];
+    }
+
+    private static void fillRates(DayHorizon horizon, RoomType roomType, double[] typeRates,
+                                  int from, int to, NightlyRate nightlyRate) {
+        LocalDate date = horizon.getOrigin().plusDays(from);
+        for (int day = from; day < to; day++) {
+            typeRates[day] = nightlyRate.rateOn(roomType, date);
+            date = date.plusDays(1);
+        }
+    }
+
+    private static double[] accumulate(double[] typeRates, double[] totals, int from) {
+        for (int day = from; day < typeRates.length; day++) {
+            totals[day + 1] = totals[day] + typeRates[day];
+        }
+        return totals;
+    }
+}
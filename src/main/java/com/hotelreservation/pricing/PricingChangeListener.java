@@ -0,0 +1,15 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import java.time.LocalDate;
+
+// Fired after a change has been published, so a listener that re-quotes sees the new prices.
+public interface PricingChangeListener {
+    void basePriceChanged(RoomType roomType);
+
+    // endDate is inclusive.
+    void datesChanged(LocalDate startDate, LocalDate endDate);
+
+    void allChanged();
+}
@@ -0,0 +1,238 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/*
+ * The pricing rule tables compiled into flat arrays. A quote walks its nights once with cursors into the
+ * sorted season and event arrays, so the per-night path does no map lookups, boxing or allocation.
+ * With the default rule rows the result is the same product DynamicPricing computes:
+ * sum over nights of base x day-of-week x season x event, then the stay-level factors.
+ */
+final class PricingRules {
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final long revision;
+    private final long today;
+    private final double[] basePrices;
+    private final int[] overrideHotelIds;
+    private final double[][] overrideBasePrices;
+    private final double[] dayOfWeekMultipliers;
+    private final long[] seasonStarts;
+    private final long[] seasonEnds;
+    private final double[] seasonMultipliers;
+    private final long[] eventDays;
+    private final double[] eventMultipliers;
+    private final StepFunction leadTime;
+    private final StepFunction lengthOfStay;
+    private final double[] occupancyBounds;
+    private final double[] occupancyDiscounts;
+
+    // [min, max] inclusive; among the rules covering a value the one with the greatest min wins, then the later row.
+    static final class RangeRule {
+        final int min;
+        final int max;
+        final double multiplier;
+
+        RangeRule(int min, int max, double multiplier) {
+            this.min = min;
+            this.max = max;
+            this.multiplier = multiplier;
+        }
+    }
+
+    // Piecewise-constant multiplier: values[i] applies from points[i] up to points[i + 1]; 1.0 before points[0].
+    private static final class StepFunction {
+        private final long[] points;
+        private final double[] values;
+
+        private StepFunction(long[] points, double[] values) {
+            this.points = points;
+            this.values = values;
+        }
+
+        static StepFunction compile(List<RangeRule> rules) {
+            long[] breaks = new long[rules.size() * 2];
+            int count = 0;
+            for (RangeRule rule : rules) {
+                breaks[count++] = rule.min;
+                breaks[count++] = rule.max + 1L;
+            }
+            breaks = Arrays.stream(breaks, 0, count).sorted().distinct().toArray();
+
+            long[] points = new long[breaks.length];
+            double[] values = new double[breaks.length];
+            int size = 0;
+            double previous = 1.0;
+            for (long point : breaks) {
+                double value = resolve(rules, point);
+                if (value != previous) {
+                    points[size] = point;
+                    values[size] = value;
+                    size++;
+                    previous = value;
+                }
+            }
+            return new StepFunction(Arrays.copyOf(points, size), Arrays.copyOf(values, size));
+        }
+
+        private static double resolve(List<RangeRule> rules, long value) {
+            RangeRule match = null;
+            for (RangeRule rule : rules) {
+                if (rule.min <= value && value <= rule.max && (match == null || rule.min >= match.min)) {
+                    match = rule;
+                }
+            }
+            return match == null ? 1.0 : match.multiplier;
+        }
+
+        double at(long value) {
+            int index = Arrays.binarySearch(points, value);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index < 0 ? 1.0 : values[index];
+        }
+    }
+
+    private PricingRules(long revision, long today, double[] basePrices, int[] overrideHotelIds,
+                         double[][] overrideBasePrices, double[] dayOfWeekMultipliers, SeasonCalendar seasons,
+                         long[] eventDays, double[] eventMultipliers, StepFunction leadTime, StepFunction lengthOfStay,
+                         double[] occupancyBounds, double[] occupancyDiscounts) {
+        this.revision = revision;
+        this.today = today;
+        this.basePrices = basePrices;
+        this.overrideHotelIds = overrideHotelIds;
+        this.overrideBasePrices = overrideBasePrices;
+        this.dayOfWeekMultipliers = dayOfWeekMultipliers;
+        this.seasonStarts = new long[seasons.size()];
+        this.seasonEnds = new long[seasons.size()];
+        this.seasonMultipliers = new double[seasons.size()];
+        for (int i = 0; i < seasons.size(); i++) {
+            seasonStarts[i] = seasons.startEpochDay(i);
+            seasonEnds[i] = seasons.endEpochDay(i);
+            seasonMultipliers[i] = seasons.getMultiplier(i);
+        }
+        this.eventDays = eventDays;
+        this.eventMultipliers = eventMultipliers;
+        this.leadTime = leadTime;
+        this.lengthOfStay = lengthOfStay;
+        this.occupancyBounds = occupancyBounds;
+        this.occupancyDiscounts = occupancyDiscounts;
+    }
+
+    static PricingRules compile(long revision, LocalDate today, Map<RoomType, Double> basePrices,
+                                Map<Integer, Map<RoomType, Double>> hotelOverrides, double[] dayOfWeekMultipliers,
+                                SeasonCalendar seasons, Map<LocalDate, Map<String, Double>> events,
+                                List<RangeRule> leadTimeRules, List<RangeRule> lengthOfStayRules,
+                                NavigableMap<Double, Double> occupancyTiers) {
+        double[] prices = new double[ROOM_TYPES.length];
+        for (RoomType roomType : ROOM_TYPES) {
+            prices[roomType.ordinal()] = basePrices.getOrDefault(roomType, 0.0);
+        }
+
+        int[] hotelIds = hotelOverrides.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        double[][] hotelPrices = new double[hotelIds.length][];
+        for (int i = 0; i < hotelIds.length; i++) {
+            hotelPrices[i] = prices.clone();
+            for (Map.Entry<RoomType, Double> override : hotelOverrides.get(hotelIds[i]).entrySet()) {
+                hotelPrices[i][override.getKey().ordinal()] = override.getValue();
+            }
+        }
+
+        // Several events on one day count once, at the largest multiplier.
+        TreeMap<Long, Double> eventMaxima = new TreeMap<>();
+        events.forEach((date, byName) -> {
+            if (!byName.isEmpty()) {
+                eventMaxima.put(date.toEpochDay(), byName.values().stream().mapToDouble(Double::doubleValue).max().getAsDouble());
+            }
+        });
+        long[] days = eventMaxima.keySet().stream().mapToLong(Long::longValue).toArray();
+        double[] maxima = eventMaxima.values().stream().mapToDouble(Double::doubleValue).toArray();
+
+        double[] bounds = occupancyTiers.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+        double[] discounts = occupancyTiers.values().stream().mapToDouble(Double::doubleValue).toArray();
+
+        return new PricingRules(revision, today.toEpochDay(), prices, hotelIds, hotelPrices,
+                dayOfWeekMultipliers.clone(), seasons, days, maxima, StepFunction.compile(leadTimeRules),
+                StepFunction.compile(lengthOfStayRules), bounds, discounts);
+    }
+
+    long getRevision() {
+        return revision;
+    }
+
+    // Lead times are counted from this day, so the rules are recompiled when the date rolls over.
+    long getToday() {
+        return today;
+    }
+
+    // The tightest tier whose bound lies above the rate applies.
+    double discount(double occupancyRate) {
+        for (int i = 0; i < occupancyBounds.length; i++) {
+            if (occupancyRate < occupancyBounds[i]) {
+                return occupancyDiscounts[i];
+            }
+        }
+        return 0;
+    }
+
+    // hotelId 0 means no particular hotel: the global base prices apply.
+    double quote(int hotelId, RoomType roomType, long startDay, long endDay, double occupancyRate) {
+        if (endDay <= startDay) {
+            return 0.0;
+        }
+        double base = basePrice(hotelId, roomType);
+        int season = firstEndingAfter(seasonEnds, startDay);
+        int event = Arrays.binarySearch(eventDays, startDay);
+        if (event < 0) {
+            event = -event - 1;
+        }
+        int dayOfWeek = Math.floorMod(startDay + 3, 7);
+
+        double total = 0.0;
+        for (long day = startDay; day < endDay; day++) {
+            double price = base * dayOfWeekMultipliers[dayOfWeek];
+            while (season < seasonEnds.length && seasonEnds[season] <= day) {
+                season++;
+            }
+            if (season < seasonStarts.length && seasonStarts[season] <= day) {
+                price *= seasonMultipliers[season];
+            }
+            if (event < eventDays.length && eventDays[event] == day) {
+                price *= eventMultipliers[event++];
+            }
+            total += price;
+            if (++dayOfWeek == 7) {
+                dayOfWeek = 0;
+            }
+        }
+        return total * leadTime.at(startDay - today) * lengthOfStay.at(endDay - startDay)
+                * (1 - discount(occupancyRate));
+    }
+
+    private double basePrice(int hotelId, RoomType roomType) {
+        int index = Arrays.binarySearch(overrideHotelIds, hotelId);
+        return index >= 0 ? overrideBasePrices[index][roomType.ordinal()] : basePrices[roomType.ordinal()];
+    }
+
+    private static int firstEndingAfter(long[] ends, long day) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,164 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Everything a quote depends on, frozen at one pricing revision. Snapshots are never mutated after
+ * construction; the with* methods return a new snapshot that shares whatever did not change.
+ */
+public final class PricingSnapshot {
+    static final double WEEKEND_MULTIPLIER = 1.5;
+
+    private final long revision;
+    private final Map<RoomType, Double> basePrices;
+    private final SeasonCalendar seasons;
+    private final Map<LocalDate, Map<String, Double>> events;
+    private final PriceCalendar calendar;
+
+    private PricingSnapshot(long revision, Map<RoomType, Double> basePrices, SeasonCalendar seasons,
+                            Map<LocalDate, Map<String, Double>> events, PriceCalendar calendar) {
+        this.revision = revision;
+        this.basePrices = basePrices;
+        this.seasons = seasons;
+        this.events = events;
+        this.calendar = calendar;
+    }
+
+    public static PricingSnapshot of(long revision, DayHorizon horizon, Map<RoomType, Double> basePrices,
+                                     SeasonCalendar seasons, Map<LocalDate, Map<String, Double>> events) {
+        Map<RoomType, Double> frozenBasePrices = Collections.unmodifiableMap(new EnumMap<>(basePrices));
+        Map<LocalDate, Map<String, Double>> frozenEvents = new HashMap<>();
+        events.forEach((date, byName) -> frozenEvents.put(date, Collections.unmodifiableMap(new HashMap<>(byName))));
+        Map<LocalDate, Map<String, Double>> unmodifiableEvents = Collections.unmodifiableMap(frozenEvents);
+        PriceCalendar calendar = PriceCalendar.build(horizon, rates(frozenBasePrices, seasons, unmodifiableEvents));
+        return new PricingSnapshot(revision, frozenBasePrices, seasons, unmodifiableEvents, calendar);
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public Map<RoomType, Double> getBasePrices() {
+        return basePrices;
+    }
+
+    public SeasonCalendar getSeasons() {
+        return seasons;
+    }
+
+    public Map<LocalDate, Map<String, Double>> getEvents() {
+        return events;
+    }
+
+    public PriceCalendar getCalendar() {
+        return calendar;
+    }
+
+    public double getBasePrice(RoomType roomType) {
+        return basePrices.getOrDefault(roomType, 0.0);
+    }
+
+    public double getSeasonalMultiplier(LocalDate date) {
+        return seasons.multiplierOn(date);
+    }
+
+    public double getEventMultiplier(LocalDate date) {
+        return eventMultiplier(events, date);
+    }
+
+    // Price of one night before the occupancy discount, which applies to the whole stay.
+    public double nightlyRate(RoomType roomType, LocalDate date) {
+        return nightlyRate(basePrices, seasons, events, roomType, date);
+    }
+
+    public double totalBeforeDiscount(RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        if (calendar.covers(startDate, endDate)) {
+            return calendar.total(roomType, startDate, endDate);
+        }
+        double total = 0.0;
+        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
+            total += nightlyRate(roomType, date);
+        }
+        return total;
+    }
+
+    public PricingSnapshot withRevision(long newRevision) {
+        return new PricingSnapshot(newRevision, basePrices, seasons, events, calendar);
+    }
+
+    public PricingSnapshot withBasePrice(RoomType roomType, double price) {
+        Map<RoomType, Double> newBasePrices = new EnumMap<>(basePrices);
+        newBasePrices.put(roomType, price);
+        Map<RoomType, Double> frozen = Collections.unmodifiableMap(newBasePrices);
+        return new PricingSnapshot(revision, frozen, seasons, events,
+                calendar.rebuild(roomType, rates(frozen, seasons, events)));
+    }
+
+    public PricingSnapshot withSeason(LocalDate startDate, LocalDate endDate, double multiplier) {
+        SeasonCalendar newSeasons = seasons.withSeason(startDate, endDate, multiplier);
+        return new PricingSnapshot(revision, basePrices, newSeasons, events,
+                calendar.rebuild(startDate, endDate, rates(basePrices, newSeasons, events)));
+    }
+
+    public PricingSnapshot withEvent(LocalDate date, String eventName, double multiplier) {
+        Map<LocalDate, Map<String, Double>> newEvents = new HashMap<>(events);
+        Map<String, Double> byName = new HashMap<>(events.getOrDefault(date, Collections.emptyMap()));
+        byName.put(eventName, multiplier);
+        newEvents.put(date, Collections.unmodifiableMap(byName));
+        Map<LocalDate, Map<String, Double>> frozen = Collections.unmodifiableMap(newEvents);
+        return new PricingSnapshot(revision, basePrices, seasons, frozen,
+                calendar.rebuild(date, date, rates(basePrices, seasons, frozen)));
+    }
+
+    public PricingSnapshot withoutSeasons() {
+        return new PricingSnapshot(revision, basePrices, SeasonCalendar.EMPTY, events,
+                PriceCalendar.build(calendar.getHorizon(), rates(basePrices, SeasonCalendar.EMPTY, events)));
+    }
+
+    public PricingSnapshot withoutEvents() {
+        Map<LocalDate, Map<String, Double>> none = Collections.emptyMap();
+        return new PricingSnapshot(revision, basePrices, seasons, none,
+                PriceCalendar.build(calendar.getHorizon(), rates(basePrices, seasons, none)));
+    }
+
+    private static PriceCalendar.NightlyRate rates(Map<RoomType, Double> basePrices, SeasonCalendar seasons,
+                                                   Map<LocalDate, Map<String, Double>> events) {
+        return (roomType, date) -> nightlyRate(basePrices, seasons, events, roomType, date);
+    }
+
+    private static double nightlyRate(Map<RoomType, Double> basePrices, SeasonCalendar seasons,
+                                      Map<LocalDate, Map<String, Double>> events, RoomType roomType, LocalDate date) {
+        double dailyPrice = basePrices.getOrDefault(roomType, 0.0);
+        if (isWeekend(date)) {
+            dailyPrice *= WEEKEND_MULTIPLIER;
+        }
+        dailyPrice *= seasons.multiplierOn(date);
+        dailyPrice *= eventMultiplier(events, date);
+        return dailyPrice;
+    }
+
+    private static double eventMultiplier(Map<LocalDate, Map<String, Double>> events, LocalDate date) {
+        Map<String, Double> byName = events.get(date);
+        if (byName == null || byName.isEmpty()) {
+            return 1.0;
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (double multiplier : byName.values()) {
+            max = Math.max(max, multiplier);
+        }
+        return max;
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+}
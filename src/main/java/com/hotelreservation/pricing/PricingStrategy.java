@@ -2,6 +2,9 @@ package main.java.com.hotelreservation.pricing;
 
 import main.java.com.hotelreservation.model.enums.RoomType;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public interface PricingStrategy {
     double calculatePrice(LocalDate startDate, LocalDate endDate, RoomType roomType , double occupancyRate);
@@ -9,4 +12,31 @@ public interface PricingStrategy {
     void setSeasonalMultiplier(LocalDate startDate, LocalDate endDate, double multiplier);
     void setEventPricing(LocalDate date, String eventName, double multiplier);
     double getOccupancyBasedDiscount(double occupancyRate);
+    void clearSeasonalPricing();
+    void clearEventPricing();
+    void addChangeListener(PricingChangeListener listener);
+
+    // Strategies without per-hotel prices quote every hotel alike.
+    default double calculatePrice(int hotelId, LocalDate startDate, LocalDate endDate, RoomType roomType, double occupancyRate) {
+        return calculatePrice(startDate, endDate, roomType, occupancyRate);
+    }
+
+    @FunctionalInterface
+    interface OccupancyLookup {
+        double occupancyRate(LocalDate startDate, LocalDate endDate);
+    }
+
+    // Totals in request order; occupancy is looked up once per distinct stay dates.
+    default double[] calculatePrices(List<QuoteRequest> requests, OccupancyLookup occupancy) {
+        double[] totals = new double[requests.size()];
+        Map<LocalDate, Map<LocalDate, Double>> occupancyByStay = new HashMap<>();
+        for (int i = 0; i < totals.length; i++) {
+            QuoteRequest request = requests.get(i);
+            double occupancyRate = occupancyByStay
+                    .computeIfAbsent(request.getStartDate(), k -> new HashMap<>())
+                    .computeIfAbsent(request.getEndDate(), end -> occupancy.occupancyRate(request.getStartDate(), end));
+            totals[i] = calculatePrice(request.getStartDate(), request.getEndDate(), request.getRoomType(), occupancyRate);
+        }
+        return totals;
+    }
 }
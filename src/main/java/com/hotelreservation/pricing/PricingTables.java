@@ -0,0 +1,215 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import main.java.com.hotelreservation.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Access to the pricing tables shared by every strategy; readers run on the caller's statement and transaction.
+final class PricingTables {
+
+    private PricingTables() {
+    }
+
+    static long loadRevision(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT revision FROM pricing_revision")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    static Map<RoomType, Double> loadBasePrices(Statement stmt) throws SQLException {
+        Map<RoomType, Double> basePrices = new EnumMap<>(RoomType.class);
+        try (ResultSet rs = stmt.executeQuery("SELECT room_type, price FROM base_prices")) {
+            while (rs.next()) {
+                RoomType roomType = RoomType.valueOf(rs.getString("room_type"));
+                double price = rs.getDouble("price");
+                basePrices.put(roomType, price);
+            }
+        }
+        if (basePrices.isEmpty()) {
+            basePrices.put(RoomType.SINGLE, 100.0);
+            basePrices.put(RoomType.DOUBLE, 150.0);
+            basePrices.put(RoomType.SUITE, 250.0);
+        }
+        return basePrices;
+    }
+
+    // Rows are applied oldest first so that a later season overrides an earlier one where they overlap.
+    static SeasonCalendar loadSeasons(Statement stmt) throws SQLException {
+        SeasonCalendar seasons = SeasonCalendar.EMPTY;
+        try (ResultSet rs = stmt.executeQuery("SELECT start_date, end_date, multiplier FROM seasonal_pricing ORDER BY season_id")) {
+            while (rs.next()) {
+                LocalDate startDate = rs.getDate("start_date").toLocalDate();
+                LocalDate endDate = rs.getDate("end_date").toLocalDate();
+                double multiplier = rs.getDouble("multiplier");
+                seasons = seasons.withSeason(startDate, endDate, multiplier);
+            }
+        }
+        return seasons;
+    }
+
+    static Map<LocalDate, Map<String, Double>> loadEvents(Statement stmt) throws SQLException {
+        Map<LocalDate, Map<String, Double>> eventPricing = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT event_date, event_name, multiplier FROM event_pricing")) {
+            while (rs.next()) {
+                LocalDate eventDate = rs.getDate("event_date").toLocalDate();
+                String eventName = rs.getString("event_name");
+                double multiplier = rs.getDouble("multiplier");
+                eventPricing.computeIfAbsent(eventDate, k -> new HashMap<>()).put(eventName, multiplier);
+            }
+        }
+        return eventPricing;
+    }
+
+    // Indexed Monday = 0; days without a row keep the weekday/weekend multipliers DynamicPricing uses.
+    static double[] loadDayOfWeekMultipliers(Statement stmt) throws SQLException {
+        double[] multipliers = {1.0, 1.0, 1.0, 1.0, 1.0, PricingSnapshot.WEEKEND_MULTIPLIER, PricingSnapshot.WEEKEND_MULTIPLIER};
+        try (ResultSet rs = stmt.executeQuery("SELECT day_of_week, multiplier FROM pricing_day_of_week")) {
+            while (rs.next()) {
+                multipliers[rs.getInt("day_of_week") - 1] = rs.getDouble("multiplier");
+            }
+        }
+        return multipliers;
+    }
+
+    static List<PricingRules.RangeRule> loadLeadTimeRules(Statement stmt) throws SQLException {
+        return loadRangeRules(stmt, "SELECT min_days, max_days, multiplier FROM pricing_lead_time ORDER BY rule_id");
+    }
+
+    static List<PricingRules.RangeRule> loadLengthOfStayRules(Statement stmt) throws SQLException {
+        return loadRangeRules(stmt, "SELECT min_nights, max_nights, multiplier FROM pricing_length_of_stay ORDER BY rule_id");
+    }
+
+    // Upper occupancy bound (exclusive) to discount; falls back to the tiers DynamicPricing hard-codes.
+    static NavigableMap<Double, Double> loadOccupancyTiers(Statement stmt) throws SQLException {
+        NavigableMap<Double, Double> tiers = new TreeMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT below_occupancy, discount FROM pricing_occupancy_tiers")) {
+            while (rs.next()) {
+                tiers.put(rs.getDouble("below_occupancy"), rs.getDouble("discount"));
+            }
+        }
+        if (tiers.isEmpty()) {
+            tiers.put(0.3, 0.2);
+            tiers.put(0.5, 0.1);
+        }
+        return tiers;
+    }
+
+    static Map<Integer, Map<RoomType, Double>> loadHotelOverrides(Statement stmt) throws SQLException {
+        Map<Integer, Map<RoomType, Double>> overrides = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT hotel_id, room_type, price FROM pricing_hotel_overrides")) {
+            while (rs.next()) {
+                overrides.computeIfAbsent(rs.getInt("hotel_id"), k -> new EnumMap<>(RoomType.class))
+                        .put(RoomType.valueOf(rs.getString("room_type")), rs.getDouble("price"));
+            }
+        }
+        return overrides;
+    }
+
+    private static List<PricingRules.RangeRule> loadRangeRules(Statement stmt, String sql) throws SQLException {
+        List<PricingRules.RangeRule> rules = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                int min = rs.getInt(1);
+                int max = rs.getInt(2);
+                if (rs.wasNull()) {
+                    max = Integer.MAX_VALUE;
+                }
+                rules.add(new PricingRules.RangeRule(min, max, rs.getDouble(3)));
+            }
+        }
+        return rules;
+    }
+
+    // Each write runs in its own transaction and returns the pricing_revision its trigger bumped it to.
+    static long updateBasePrice(RoomType roomType, double newPrice) {
+        return write("Error updating base price", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement("UPDATE base_prices SET price = ? WHERE room_type = ?")) {
+                pstmt.setDouble(1, newPrice);
+                pstmt.setObject(2, roomType.name(), Types.OTHER);
+                pstmt.executeUpdate();
+            }
+        });
+    }
+
+    static long insertSeason(LocalDate startDate, LocalDate endDate, double multiplier) {
+        String sql = "INSERT INTO seasonal_pricing (start_date, end_date, multiplier) VALUES (?, ?, ?)";
+        return write("Error setting seasonal multiplier", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setDate(1, Date.valueOf(startDate));
+                pstmt.setDate(2, Date.valueOf(endDate));
+                pstmt.setDouble(3, multiplier);
+                pstmt.executeUpdate();
+            }
+        });
+    }
+
+    static long insertEvent(LocalDate date, String eventName, double multiplier) {
+        String sql = "INSERT INTO event_pricing (event_date, event_name, multiplier) VALUES (?, ?, ?)";
+        return write("Error setting event pricing", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setDate(1, Date.valueOf(date));
+                pstmt.setString(2, eventName);
+                pstmt.setDouble(3, multiplier);
+                pstmt.executeUpdate();
+            }
+        });
+    }
+
+    static long deleteSeasons() {
+        return write("Error clearing seasonal pricing", conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM seasonal_pricing");
+            }
+        });
+    }
+
+    static long deleteEvents() {
+        return write("Error clearing event pricing", conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM event_pricing");
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void run(Connection conn) throws SQLException;
+    }
+
+    /*
+     * The statement trigger adds exactly one to pricing_revision and holds its row lock until commit,
+     * so the revision read back in the same transaction is the one this write produced.
+     */
+    private static long write(String errorMessage, Write write) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                write.run(conn);
+                long revision = loadRevision(stmt);
+                conn.commit();
+                return revision;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package main.java.com.hotelreservation.pricing;
+
+public class QuoteCacheStats {
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+    QuoteCacheStats(int size, long hits, long misses, long evictions, long expirations, long invalidations) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteCacheStats{" +
+                "size=" + size +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                String.format(", hitRate=%.3f", getHitRate()) +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", invalidations=" + invalidations +
+                '}';
+    }
+}
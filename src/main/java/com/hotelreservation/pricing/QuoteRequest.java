@@ -0,0 +1,48 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public final class QuoteRequest {
+    private final RoomType roomType;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public QuoteRequest(RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        this.roomType = Objects.requireNonNull(roomType, "roomType");
+        this.startDate = Objects.requireNonNull(startDate, "startDate");
+        this.endDate = Objects.requireNonNull(endDate, "endDate");
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QuoteRequest)) return false;
+        QuoteRequest that = (QuoteRequest) o;
+        return roomType == that.roomType && startDate.equals(that.startDate) && endDate.equals(that.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomType, startDate, endDate);
+    }
+
+    @Override
+    public String toString() {
+        return roomType + " " + startDate + " to " + endDate;
+    }
+}
@@ -0,0 +1,160 @@
+package main.java.com.hotelreservation.pricing;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Prices from the rule tables (day of week, lead time, length of stay, occupancy tiers and per-hotel base
+ * prices) on top of the base, seasonal and event tables DynamicPricing reads. The tables are compiled into
+ * PricingRules whenever their revision moves; edits made through this strategy recompile immediately.
+ */
+public class RuleBasedPricing implements PricingStrategy {
+    private static final long REFRESH_SECONDS = Long.getLong("hoteljdbc.pricing.refreshSeconds", 30L);
+
+    private final AtomicReference<PricingRules> rules;
+    private final ScheduledExecutorService refresher;
+    private final List<PricingChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public RuleBasedPricing() {
+        this.rules = new AtomicReference<>(loadRules());
+        if (REFRESH_SECONDS > 0) {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "pricing-rules-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, REFRESH_SECONDS, REFRESH_SECONDS, TimeUnit.SECONDS);
+        } else {
+            this.refresher = null;
+        }
+    }
+
+    // Recompiles when the tables changed or the date rolled over; returns true when new rules were published.
+    public boolean refresh() {
+        PricingRules current = rules.get();
+        if (loadRevision() == current.getRevision() && LocalDate.now().toEpochDay() == current.getToday()) {
+            return false;
+        }
+        if (!rules.compareAndSet(current, loadRules())) {
+            return false;
+        }
+        listeners.forEach(PricingChangeListener::allChanged);
+        return true;
+    }
+
+    @Override
+    public void addChangeListener(PricingChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            System.out.println("Error refreshing pricing rules: " + e.getMessage());
+        }
+    }
+
+    private PricingRules loadRules() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                PricingRules compiled = PricingRules.compile(
+                        PricingTables.loadRevision(stmt),
+                        LocalDate.now(),
+                        PricingTables.loadBasePrices(stmt),
+                        PricingTables.loadHotelOverrides(stmt),
+                        PricingTables.loadDayOfWeekMultipliers(stmt),
+                        PricingTables.loadSeasons(stmt),
+                        PricingTables.loadEvents(stmt),
+                        PricingTables.loadLeadTimeRules(stmt),
+                        PricingTables.loadLengthOfStayRules(stmt),
+                        PricingTables.loadOccupancyTiers(stmt));
+                conn.commit();
+                return compiled;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading pricing rules", e);
+        }
+    }
+
+    private long loadRevision() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            return PricingTables.loadRevision(stmt);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading pricing revision", e);
+        }
+    }
+
+    @Override
+    public double calculatePrice(LocalDate startDate, LocalDate endDate, RoomType roomType, double occupancyRate) {
+        return calculatePrice(0, startDate, endDate, roomType, occupancyRate);
+    }
+
+    @Override
+    public double calculatePrice(int hotelId, LocalDate startDate, LocalDate endDate, RoomType roomType, double occupancyRate) {
+        return rules.get().quote(hotelId, roomType, startDate.toEpochDay(), endDate.toEpochDay(), occupancyRate);
+    }
+
+    @Override
+    public double getOccupancyBasedDiscount(double occupancyRate) {
+        return rules.get().discount(occupancyRate);
+    }
+
+    @Override
+    public void updateBasePrice(RoomType roomType, double newPrice) {
+        PricingTables.updateBasePrice(roomType, newPrice);
+        rules.set(loadRules());
+        listeners.forEach(l -> l.basePriceChanged(roomType));
+    }
+
+    @Override
+    public void setSeasonalMultiplier(LocalDate startDate, LocalDate endDate, double multiplier) {
+        PricingTables.insertSeason(startDate, endDate, multiplier);
+        rules.set(loadRules());
+        listeners.forEach(l -> l.datesChanged(startDate, endDate));
+    }
+
+    @Override
+    public void setEventPricing(LocalDate date, String eventName, double multiplier) {
+        PricingTables.insertEvent(date, eventName, multiplier);
+        rules.set(loadRules());
+        listeners.forEach(l -> l.datesChanged(date, date));
+    }
+
+    @Override
+    public void clearSeasonalPricing() {
+        PricingTables.deleteSeasons();
+        rules.set(loadRules());
+        listeners.forEach(PricingChangeListener::allChanged);
+    }
+
+    @Override
+    public void clearEventPricing() {
+        PricingTables.deleteEvents();
+        rules.set(loadRules());
+        listeners.forEach(PricingChangeListener::allChanged);
+    }
+}
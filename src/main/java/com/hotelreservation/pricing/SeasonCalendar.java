@@ -0,0 +1,123 @@
+package main.java.com.hotelreservation.pricing;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/*
+ * Seasonal multipliers as sorted, non-overlapping [start, end) epoch-day intervals.
+ * Overlaps are resolved when a season is added: the newer season wins on every day it covers,
+ * older seasons keep the days outside it, and touching intervals with equal multipliers are merged.
+ */
+public final class SeasonCalendar {
+    public static final SeasonCalendar EMPTY = new SeasonCalendar(new long[0], new long[0], new double[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final double[] multipliers;
+
+    private SeasonCalendar(long[] starts, long[] ends, double[] multipliers) {
+        this.starts = starts;
+        this.ends = ends;
+        this.multipliers = multipliers;
+    }
+
+    // endDate is inclusive, matching seasonal_pricing rows.
+    public SeasonCalendar withSeason(LocalDate startDate, LocalDate endDate, double multiplier) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay() + 1;
+        if (end <= start) {
+            return this;
+        }
+        int capacity = starts.length + 2;
+        long[] newStarts = new long[capacity];
+        long[] newEnds = new long[capacity];
+        double[] newMultipliers = new double[capacity];
+        int count = 0;
+        boolean inserted = false;
+        for (int i = 0; i < starts.length; i++) {
+            if (!inserted && starts[i] >= start) {
+                count = append(newStarts, newEnds, newMultipliers, count, start, end, multiplier);
+                inserted = true;
+            }
+            if (starts[i] < start) {
+                count = append(newStarts, newEnds, newMultipliers, count, starts[i], Math.min(ends[i], start), multipliers[i]);
+                if (ends[i] > end) {
+                    count = append(newStarts, newEnds, newMultipliers, count, start, end, multiplier);
+                    inserted = true;
+                }
+            }
+            if (ends[i] > end) {
+                count = append(newStarts, newEnds, newMultipliers, count, Math.max(starts[i], end), ends[i], multipliers[i]);
+            }
+        }
+        if (!inserted) {
+            count = append(newStarts, newEnds, newMultipliers, count, start, end, multiplier);
+        }
+        return new SeasonCalendar(Arrays.copyOf(newStarts, count), Arrays.copyOf(newEnds, count),
+                Arrays.copyOf(newMultipliers, count));
+    }
+
+    public double multiplierOn(LocalDate date) {
+        return multiplierOn(date.toEpochDay());
+    }
+
+    public double multiplierOn(long epochDay) {
+        int index = indexOf(epochDay);
+        return index < 0 ? 1.0 : multipliers[index];
+    }
+
+    // Index of the interval containing the day, or -1 if no season covers it.
+    public int indexOf(long epochDay) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] > epochDay) {
+                high = mid - 1;
+            } else if (ends[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public LocalDate getStartDate(int index) {
+        return LocalDate.ofEpochDay(starts[index]);
+    }
+
+    // Inclusive, like the rows the calendar was built from.
+    public LocalDate getEndDate(int index) {
+        return LocalDate.ofEpochDay(ends[index] - 1);
+    }
+
+    public double getMultiplier(int index) {
+        return multipliers[index];
+    }
+
+    long startEpochDay(int index) {
+        return starts[index];
+    }
+
+    // Exclusive.
+    long endEpochDay(int index) {
+        return ends[index];
+    }
+
+    private static int append(long[] starts, long[] ends, double[] multipliers, int count,
+                              long start, long end, double multiplier) {
+        if (count > 0 && ends[count - 1] == start && multipliers[count - 1] == multiplier) {
+            ends[count - 1] = end;
+            return count;
+        }
+        starts[count] = start;
+        ends[count] = end;
+        multipliers[count] = multiplier;
+        return count + 1;
+    }
+}
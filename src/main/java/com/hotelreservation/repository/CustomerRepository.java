@@ -1,13 +1,21 @@
 package main.java.com.hotelreservation.repository;
 
 import main.java.com.hotelreservation.dao.CustomerDAO;
+import main.java.com.hotelreservation.dao.Page;
 import main.java.com.hotelreservation.model.Customer;
 import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.IdLookups;
+import main.java.com.hotelreservation.util.JdbcBatch;
+import main.java.com.hotelreservation.util.JdbcStreams;
+import main.java.com.hotelreservation.util.PageTokens;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CustomerRepository implements CustomerDAO {
 
@@ -52,6 +60,12 @@ public class CustomerRepository implements CustomerDAO {
         return customers;
     }
 
+    @Override
+    public Stream<Customer> streamAll(int fetchSize) {
+        String sql = "SELECT * FROM customers";
+        return JdbcStreams.stream(sql, fetchSize, null, this::mapResultSetToCustomer, "Error streaming customers");
+    }
+
     @Override
     public void save(Customer customer) {
         String sql = "INSERT INTO customers (name, email, phone_number) VALUES (?, ?, ?) RETURNING customer_id";
@@ -135,4 +149,107 @@ public class CustomerRepository implements CustomerDAO {
         }
         return customers;
     }
+
+    @Override
+    public Map<Integer, Customer> findAllByIds(Collection<Integer> ids) {
+        String sql = "SELECT * FROM customers WHERE customer_id = ANY(?)";
+        try {
+            return IdLookups.findAllByIds(sql, ids, this::mapResultSetToCustomer, Customer::getCustomerId);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding customers by IDs", e);
+        }
+    }
+
+    @Override
+    public Page<Customer> findPage(String pageToken, int pageSize) {
+        PageTokens.checkPageSize(pageSize);
+        String sql = pageToken == null
+                ? "SELECT * FROM customers ORDER BY customer_id LIMIT ?"
+                : "SELECT * FROM customers WHERE customer_id > ? ORDER BY customer_id LIMIT ?";
+        List<Customer> customers = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (pageToken != null) {
+                preparedStatement.setInt(index++, PageTokens.decodeId(pageToken));
+            }
+            preparedStatement.setInt(index, pageSize + 1);
+            ResultSet rs = preparedStatement.executeQuery();
+            while (rs.next()) {
+                customers.add(mapResultSetToCustomer(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of customers", e);
+        }
+        return Page.of(customers, pageSize, c -> PageTokens.encode(c.getCustomerId()));
+    }
+
+    @Override
+    public Page<Customer> findPageByName(String name, String pageToken, int pageSize) {
+        PageTokens.checkPageSize(pageSize);
+        String sql = pageToken == null
+                ? "SELECT * FROM customers WHERE name LIKE ? ORDER BY customer_id LIMIT ?"
+                : "SELECT * FROM customers WHERE name LIKE ? AND customer_id > ? ORDER BY customer_id LIMIT ?";
+        List<Customer> customers = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            int index = 1;
+            preparedStatement.setString(index++, "%" + name + "%");
+            if (pageToken != null) {
+                preparedStatement.setInt(index++, PageTokens.decodeId(pageToken));
+            }
+            preparedStatement.setInt(index, pageSize + 1);
+            ResultSet rs = preparedStatement.executeQuery();
+            while (rs.next()) {
+                customers.add(mapResultSetToCustomer(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of customers by name", e);
+        }
+        return Page.of(customers, pageSize, c -> PageTokens.encode(c.getCustomerId()));
+    }
+
+    @Override
+    public int[] saveAll(List<Customer> customers, int batchSize) {
+        String sql = "INSERT INTO customers (name, email, phone_number) VALUES (?, ?, ?)";
+        try {
+            int[] ids = JdbcBatch.insert(sql, "customer_id", customers, batchSize, (pstmt, customer) -> {
+                pstmt.setString(1, customer.getName());
+                pstmt.setString(2, customer.getEmail());
+                pstmt.setString(3, customer.getPhoneNumber());
+            });
+            for (int i = 0; i < ids.length; i++) {
+                customers.get(i).setCustomerId(ids[i]);
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving customers", e);
+        }
+    }
+
+    @Override
+    public void updateAll(List<Customer> customers, int batchSize) {
+        String sql = "UPDATE customers SET name = ?, email = ?, phone_number = ? WHERE customer_id = ?";
+        try {
+            JdbcBatch.execute(sql, customers, batchSize, (pstmt, customer) -> {
+                pstmt.setString(1, customer.getName());
+                pstmt.setString(2, customer.getEmail());
+                pstmt.setString(3, customer.getPhoneNumber());
+                pstmt.setInt(4, customer.getCustomerId());
+            }, customer -> "Updating customer " + customer.getCustomerId() + " failed, no rows affected.");
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating customers", e);
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids, int batchSize) {
+        String sql = "DELETE FROM customers WHERE customer_id = ?";
+        try {
+            JdbcBatch.execute(sql, ids, batchSize, (pstmt, id) -> pstmt.setInt(1, id),
+                    id -> "Deleting customer " + id + " failed, no rows affected.");
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting customers", e);
+        }
+    }
 }
@@ -1,12 +1,18 @@
 package main.java.com.hotelreservation.repository;
 
 import main.java.com.hotelreservation.dao.HotelDAO;
+import main.java.com.hotelreservation.dao.Page;
 import main.java.com.hotelreservation.model.Hotel;
 import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.IdLookups;
+import main.java.com.hotelreservation.util.JdbcBatch;
+import main.java.com.hotelreservation.util.PageTokens;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class HotelRepository implements HotelDAO {
@@ -131,4 +137,80 @@ public class HotelRepository implements HotelDAO {
         }
         return Optional.empty();
     }
+
+    @Override
+    public Map<Integer, Hotel> findAllByIds(Collection<Integer> ids) {
+        String sql = "SELECT * FROM hotels WHERE hotel_id = ANY(?)";
+        try {
+            return IdLookups.findAllByIds(sql, ids, this::mapResultSetToHotel, Hotel::getHotelId);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding hotels by IDs", e);
+        }
+    }
+
+    @Override
+    public Page<Hotel> findPage(String pageToken, int pageSize) {
+        PageTokens.checkPageSize(pageSize);
+        String sql = pageToken == null
+                ? "SELECT * FROM hotels ORDER BY hotel_id LIMIT ?"
+                : "SELECT * FROM hotels WHERE hotel_id > ? ORDER BY hotel_id LIMIT ?";
+        List<Hotel> hotels = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (pageToken != null) {
+                pstmt.setInt(index++, PageTokens.decodeId(pageToken));
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                hotels.add(mapResultSetToHotel(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of hotels", e);
+        }
+        return Page.of(hotels, pageSize, h -> PageTokens.encode(h.getHotelId()));
+    }
+
+    @Override
+    public int[] saveAll(List<Hotel> hotels, int batchSize) {
+        String sql = "INSERT INTO hotels (name, address) VALUES (?, ?)";
+        try {
+            int[] ids = JdbcBatch.insert(sql, "hotel_id", hotels, batchSize, (pstmt, hotel) -> {
+                pstmt.setString(1, hotel.getName());
+                pstmt.setString(2, hotel.getAddress());
+            });
+            for (int i = 0; i < ids.length; i++) {
+                hotels.get(i).setHotelId(ids[i]);
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving hotels", e);
+        }
+    }
+
+    @Override
+    public void updateAll(List<Hotel> hotels, int batchSize) {
+        String sql = "UPDATE hotels SET name = ?, address = ? WHERE hotel_id = ?";
+        try {
+            JdbcBatch.execute(sql, hotels, batchSize, (pstmt, hotel) -> {
+                pstmt.setString(1, hotel.getName());
+                pstmt.setString(2, hotel.getAddress());
+                pstmt.setInt(3, hotel.getHotelId());
+            }, hotel -> "Updating hotel " + hotel.getHotelId() + " failed, no rows affected.");
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating hotels", e);
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids, int batchSize) {
+        String sql = "DELETE FROM hotels WHERE hotel_id = ?";
+        try {
+            JdbcBatch.execute(sql, ids, batchSize, (pstmt, id) -> pstmt.setInt(1, id),
+                    id -> "Deleting hotel " + id + " failed, no rows affected.");
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting hotels", e);
+        }
+    }
 }
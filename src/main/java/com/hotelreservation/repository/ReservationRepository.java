@@ -1,18 +1,35 @@
 package main.java.com.hotelreservation.repository;
 
+import main.java.com.hotelreservation.dao.Fetch;
+import main.java.com.hotelreservation.dao.Page;
 import main.java.com.hotelreservation.dao.ReservationDAO;
+import main.java.com.hotelreservation.exception.ReservationConflictException;
 import main.java.com.hotelreservation.model.Reservation;
 import main.java.com.hotelreservation.model.Customer;
+import main.java.com.hotelreservation.model.Hotel;
+import main.java.com.hotelreservation.model.Room;
 import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.model.enums.RoomType;
 import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.IdLookups;
+import main.java.com.hotelreservation.util.JdbcBatch;
+import main.java.com.hotelreservation.util.JdbcStreams;
+import main.java.com.hotelreservation.util.PageTokens;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class ReservationRepository implements ReservationDAO {
+    private static final String EXCLUSION_VIOLATION = "23P01";
 
     @Override
     public List<Reservation> findByDateRange(String startDate, String endDate) {
@@ -53,6 +70,34 @@ public class ReservationRepository implements ReservationDAO {
         return reservations;
     }
 
+    @Override
+    public Stream<Reservation> streamAll(int fetchSize) {
+        String sql = "SELECT * FROM reservations";
+        return JdbcStreams.stream(sql, fetchSize, null, this::mapResultSetToReservation, "Error streaming reservations");
+    }
+
+    @Override
+    public Stream<Reservation> streamOverlapping(LocalDate startDate, LocalDate endDate, int fetchSize) {
+        String sql = "SELECT * FROM reservations WHERE daterange(start_date, end_date) && daterange(?, ?)";
+        return JdbcStreams.stream(sql, fetchSize, pstmt -> {
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+        }, this::mapResultSetToReservation, "Error streaming overlapping reservations");
+    }
+
+    // Confirmed stays in rooms of the type touching the inclusive range [startDate, endDate], in reservation id order.
+    @Override
+    public Stream<Reservation> streamConfirmedByRoomType(RoomType roomType, LocalDate startDate, LocalDate endDate, int fetchSize) {
+        String sql = "SELECT r.* FROM reservations r JOIN rooms rm ON rm.room_id = r.room_id "
+                + "WHERE r.status = 'CONFIRMED' AND rm.room_type = ? AND r.start_date <= ? AND r.end_date >= ? "
+                + "ORDER BY r.reservation_id";
+        return JdbcStreams.stream(sql, fetchSize, pstmt -> {
+            pstmt.setObject(1, roomType.name(), Types.OTHER);
+            pstmt.setDate(2, Date.valueOf(endDate));
+            pstmt.setDate(3, Date.valueOf(startDate));
+        }, this::mapResultSetToReservation, "Error streaming reservations");
+    }
+
     @Override
     public Reservation save(Reservation reservation) {
         String sql = "INSERT INTO reservations (customer_id, room_id, start_date, end_date, status, total_price) VALUES (?, ?, ?, ?, ?, ?) RETURNING reservation_id";
@@ -73,6 +118,9 @@ public class ReservationRepository implements ReservationDAO {
                 throw new SQLException("Creating reservation failed, no ID obtained.");
             }
         } catch (SQLException e) {
+            if (EXCLUSION_VIOLATION.equals(e.getSQLState())) {
+                throw new ReservationConflictException(reservation.getRoomId(), reservation.getStartDate(), reservation.getEndDate(), e);
+            }
             throw new RuntimeException("Error saving reservation", e);
         }
     }
@@ -90,6 +138,9 @@ public class ReservationRepository implements ReservationDAO {
             pstmt.setInt(6, reservation.getReservationId());
             pstmt.executeUpdate();
         } catch (SQLException e) {
+            if (EXCLUSION_VIOLATION.equals(e.getSQLState())) {
+                throw new ReservationConflictException(reservation.getRoomId(), reservation.getStartDate(), reservation.getEndDate(), e);
+            }
             throw new RuntimeException("Error updating reservation", e);
         }
     }
@@ -142,6 +193,118 @@ public class ReservationRepository implements ReservationDAO {
         return reservations;
     }
 
+    @Override
+    public List<Reservation> findByDateRange(LocalDate startDate, LocalDate endDate, Fetch... fetch) {
+        return findWithFetch("res.start_date >= ? AND res.end_date <= ?", pstmt -> {
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+        }, fetch, "Error finding reservations by date range");
+    }
+
+    // Stays are half-open [start_date, end_date), so a checkout and a check-in on the same day do not overlap.
+    @Override
+    public List<Reservation> findOverlapping(LocalDate startDate, LocalDate endDate) {
+        List<Reservation> reservations = new ArrayList<>();
+        String sql = "SELECT * FROM reservations WHERE daterange(start_date, end_date) && daterange(?, ?)";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                reservations.add(mapResultSetToReservation(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding overlapping reservations", e);
+        }
+        return reservations;
+    }
+
+    @Override
+    public List<Reservation> findArrivals(LocalDate date, Fetch... fetch) {
+        return findWithFetch("res.start_date = ? AND res.status = 'CONFIRMED'",
+                pstmt -> pstmt.setDate(1, Date.valueOf(date)),
+                fetch, "Error finding arrivals");
+    }
+
+    // One JOIN per fetched association; entities repeated across rows are shared rather than duplicated.
+    private List<Reservation> findWithFetch(String where, JdbcStreams.ParameterSetter parameters,
+                                            Fetch[] fetch, String errorMessage) {
+        Set<Fetch> plan = fetch.length == 0 ? EnumSet.noneOf(Fetch.class) : EnumSet.of(fetch[0], fetch);
+        if (plan.contains(Fetch.HOTEL)) {
+            plan.add(Fetch.ROOM);
+        }
+        StringBuilder sql = new StringBuilder("SELECT res.*");
+        if (plan.contains(Fetch.CUSTOMER)) {
+            sql.append(", c.name AS c_name, c.email AS c_email, c.phone_number AS c_phone_number");
+        }
+        if (plan.contains(Fetch.ROOM)) {
+            sql.append(", r.room_type AS r_room_type, r.is_available AS r_is_available, r.hotel_id AS r_hotel_id");
+        }
+        if (plan.contains(Fetch.HOTEL)) {
+            sql.append(", h.name AS h_name, h.address AS h_address");
+        }
+        sql.append(" FROM reservations res");
+        if (plan.contains(Fetch.CUSTOMER)) {
+            sql.append(" JOIN customers c ON c.customer_id = res.customer_id");
+        }
+        if (plan.contains(Fetch.ROOM)) {
+            sql.append(" JOIN rooms r ON r.room_id = res.room_id");
+        }
+        if (plan.contains(Fetch.HOTEL)) {
+            sql.append(" JOIN hotels h ON h.hotel_id = r.hotel_id");
+        }
+        sql.append(" WHERE ").append(where).append(" ORDER BY res.start_date, res.reservation_id");
+
+        List<Reservation> reservations = new ArrayList<>();
+        Map<Integer, Customer> customers = new HashMap<>();
+        Map<Integer, Room> rooms = new HashMap<>();
+        Map<Integer, Hotel> hotels = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            parameters.set(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                Reservation reservation = mapResultSetToReservation(rs);
+                if (plan.contains(Fetch.CUSTOMER)) {
+                    Customer customer = customers.get(reservation.getCustomerId());
+                    if (customer == null) {
+                        customer = new Customer(reservation.getCustomerId(),
+                                rs.getString("c_name"),
+                                rs.getString("c_email"),
+                                rs.getString("c_phone_number"));
+                        customers.put(customer.getCustomerId(), customer);
+                    }
+                    reservation.setCustomer(customer);
+                }
+                if (plan.contains(Fetch.ROOM)) {
+                    Room room = rooms.get(reservation.getRoomId());
+                    if (room == null) {
+                        room = new Room(reservation.getRoomId(),
+                                RoomType.valueOf(rs.getString("r_room_type")),
+                                rs.getBoolean("r_is_available"),
+                                rs.getInt("r_hotel_id"));
+                        rooms.put(room.getRoomId(), room);
+                        if (plan.contains(Fetch.HOTEL)) {
+                            Hotel hotel = hotels.get(room.getHotelId());
+                            if (hotel == null) {
+                                hotel = new Hotel(room.getHotelId(), rs.getString("h_name"), rs.getString("h_address"));
+                                hotels.put(hotel.getHotelId(), hotel);
+                            }
+                            room.setHotel(hotel);
+                            hotel.addRoom(room);
+                        }
+                    }
+                    reservation.setRoom(room);
+                }
+                reservations.add(reservation);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+        return reservations;
+    }
+
     @Override
     public List<Reservation> findByStatus(ReservationStatus status) {
         List<Reservation> reservations = new ArrayList<>();
@@ -176,8 +339,142 @@ public class ReservationRepository implements ReservationDAO {
         return reservations;
     }
 
+    @Override
+    public Map<Integer, Reservation> findAllByIds(Collection<Integer> ids) {
+        String sql = "SELECT * FROM reservations WHERE reservation_id = ANY(?)";
+        try {
+            return IdLookups.findAllByIds(sql, ids, this::mapResultSetToReservation, Reservation::getReservationId);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding reservations by IDs", e);
+        }
+    }
+
+    @Override
+    public Page<Reservation> findPage(String pageToken, int pageSize) {
+        PageTokens.checkPageSize(pageSize);
+        String sql = pageToken == null
+                ? "SELECT * FROM reservations ORDER BY reservation_id LIMIT ?"
+                : "SELECT * FROM reservations WHERE reservation_id > ? ORDER BY reservation_id LIMIT ?";
+        List<Reservation> reservations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (pageToken != null) {
+                pstmt.setInt(index++, PageTokens.decodeId(pageToken));
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                reservations.add(mapResultSetToReservation(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of reservations", e);
+        }
+        return Page.of(reservations, pageSize, r -> PageTokens.encode(r.getReservationId()));
+    }
+
+    @Override
+    public Page<Reservation> findPageByStatus(ReservationStatus status, String pageToken, int pageSize) {
+        PageTokens.checkPageSize(pageSize);
+        String sql = pageToken == null
+                ? "SELECT * FROM reservations WHERE status = ? ORDER BY start_date, reservation_id LIMIT ?"
+                : "SELECT * FROM reservations WHERE status = ? AND (start_date, reservation_id) > (?, ?) ORDER BY start_date, reservation_id LIMIT ?";
+        List<Reservation> reservations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            pstmt.setObject(index++, status.name(), Types.OTHER);
+            if (pageToken != null) {
+                pstmt.setDate(index++, Date.valueOf(PageTokens.decodeDate(pageToken)));
+                pstmt.setInt(index++, PageTokens.decodeDateId(pageToken));
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                reservations.add(mapResultSetToReservation(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of reservations by status", e);
+        }
+        return Page.of(reservations, pageSize, r -> PageTokens.encode(r.getStartDate(), r.getReservationId()));
+    }
+
+    @Override
+    public Page<Reservation> findPageByCustomerId(int customerId, String pageToken, int pageSize) {
+        PageTokens.checkPageSize(pageSize);
+        String sql = pageToken == null
+                ? "SELECT * FROM reservations WHERE customer_id = ? ORDER BY start_date, reservation_id LIMIT ?"
+                : "SELECT * FROM reservations WHERE customer_id = ? AND (start_date, reservation_id) > (?, ?) ORDER BY start_date, reservation_id LIMIT ?";
+        List<Reservation> reservations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            pstmt.setInt(index++, customerId);
+            if (pageToken != null) {
+                pstmt.setDate(index++, Date.valueOf(PageTokens.decodeDate(pageToken)));
+                pstmt.setInt(index++, PageTokens.decodeDateId(pageToken));
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                reservations.add(mapResultSetToReservation(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of reservations by customer ID", e);
+        }
+        return Page.of(reservations, pageSize, r -> PageTokens.encode(r.getStartDate(), r.getReservationId()));
+    }
+
+    @Override
+    public int[] saveAll(List<Reservation> reservations, int batchSize) {
+        String sql = "INSERT INTO reservations (customer_id, room_id, start_date, end_date, status, total_price) VALUES (?, ?, ?, ?, ?, ?)";
+        try {
+            int[] ids = JdbcBatch.insert(sql, "reservation_id", reservations, batchSize, (pstmt, reservation) -> {
+                pstmt.setInt(1, reservation.getCustomerId());
+                pstmt.setInt(2, reservation.getRoomId());
+                pstmt.setDate(3, Date.valueOf(reservation.getStartDate()));
+                pstmt.setDate(4, Date.valueOf(reservation.getEndDate()));
+                pstmt.setObject(5, reservation.getStatus().name(), Types.OTHER);
+                pstmt.setDouble(6, reservation.getTotalPrice());
+            });
+            for (int i = 0; i < ids.length; i++) {
+                reservations.get(i).setReservationId(ids[i]);
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving reservations", e);
+        }
+    }
+
+    @Override
+    public void updateAll(List<Reservation> reservations, int batchSize) {
+        String sql = "UPDATE reservations SET customer_id = ?, room_id = ?, start_date = ?, end_date = ?, status = ? WHERE reservation_id = ?";
+        try {
+            JdbcBatch.execute(sql, reservations, batchSize, (pstmt, reservation) -> {
+                pstmt.setInt(1, reservation.getCustomer().getCustomerId());
+                pstmt.setInt(2, reservation.getRoomId());
+                pstmt.setDate(3, Date.valueOf(reservation.getStartDate()));
+                pstmt.setDate(4, Date.valueOf(reservation.getEndDate()));
+                pstmt.setObject(5, reservation.getStatus().name(), Types.OTHER);
+                pstmt.setInt(6, reservation.getReservationId());
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating reservations", e);
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids, int batchSize) {
+        String sql = "DELETE FROM reservations WHERE reservation_id = ?";
+        try {
+            JdbcBatch.execute(sql, ids, batchSize, (pstmt, id) -> pstmt.setInt(1, id));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting reservations", e);
+        }
+    }
+
     private Reservation mapResultSetToReservation(ResultSet rs) throws SQLException {
-        return new Reservation(
+        Reservation reservation = new Reservation(
                 rs.getInt("reservation_id"),
                 rs.getDate("start_date").toLocalDate(),
                 rs.getDate("end_date").toLocalDate(),
@@ -185,5 +482,7 @@ public class ReservationRepository implements ReservationDAO {
                 rs.getInt("room_id"),
                 new Customer(rs.getInt("customer_id"), null, null, null) 
         );
+        reservation.setTotalPrice(rs.getDouble("total_price"));
+        return reservation;
     }
 }
@@ -4,10 +4,15 @@ import main.java.com.hotelreservation.dao.RoomDAO;
 import main.java.com.hotelreservation.model.Room;
 import main.java.com.hotelreservation.model.enums.RoomType;
 import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.IdLookups;
+import main.java.com.hotelreservation.util.JdbcBatch;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class RoomRepository implements RoomDAO {
@@ -144,6 +149,83 @@ public class RoomRepository implements RoomDAO {
         return rooms;
     }
 
+    // Anti-join against CONFIRMED stays; each probe is served by the reservations_no_double_booking index.
+    @Override
+    public List<Room> findAvailable(int hotelId, RoomType roomType, LocalDate startDate, LocalDate endDate, int limit) {
+        List<Room> rooms = new ArrayList<>();
+        String sql = "SELECT r.* FROM rooms r WHERE r.hotel_id = ? AND r.room_type = ? AND r.is_available "
+                + "AND NOT EXISTS (SELECT 1 FROM reservations res WHERE res.room_id = r.room_id "
+                + "AND res.status = 'CONFIRMED' AND daterange(res.start_date, res.end_date) && daterange(?, ?)) "
+                + "ORDER BY r.room_id LIMIT ?";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, hotelId);
+            pstmt.setObject(2, roomType.name(), Types.OTHER);
+            pstmt.setDate(3, Date.valueOf(startDate));
+            pstmt.setDate(4, Date.valueOf(endDate));
+            pstmt.setInt(5, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                rooms.add(mapResultSetToRoom(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding available rooms by dates", e);
+        }
+        return rooms;
+    }
+
+    @Override
+    public Map<Integer, Room> findAllByIds(Collection<Integer> ids) {
+        String sql = "SELECT * FROM rooms WHERE room_id = ANY(?)";
+        try {
+            return IdLookups.findAllByIds(sql, ids, this::mapResultSetToRoom, Room::getRoomId);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding rooms by IDs", e);
+        }
+    }
+
+    @Override
+    public int[] saveAll(List<Room> rooms, int batchSize) {
+        String sql = "INSERT INTO rooms (room_type, is_available, hotel_id) VALUES (CAST(? AS room_type), ?, ?)";
+        try {
+            int[] ids = JdbcBatch.insert(sql, "room_id", rooms, batchSize, (pstmt, room) -> {
+                pstmt.setString(1, room.getRoomType().name());
+                pstmt.setBoolean(2, room.isAvailable());
+                pstmt.setInt(3, room.getHotelId());
+            });
+            for (int i = 0; i < ids.length; i++) {
+                rooms.get(i).setRoomId(ids[i]);
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving rooms", e);
+        }
+    }
+
+    @Override
+    public void updateAll(List<Room> rooms, int batchSize) {
+        String sql = "UPDATE rooms SET room_type = ?, is_available = ? WHERE room_id = ?";
+        try {
+            JdbcBatch.execute(sql, rooms, batchSize, (pstmt, room) -> {
+                pstmt.setObject(1, room.getRoomType().name(), Types.OTHER);
+                pstmt.setBoolean(2, room.isAvailable());
+                pstmt.setInt(3, room.getRoomId());
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating rooms", e);
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids, int batchSize) {
+        String sql = "DELETE FROM rooms WHERE room_id = ?";
+        try {
+            JdbcBatch.execute(sql, ids, batchSize, (pstmt, id) -> pstmt.setInt(1, id));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting rooms", e);
+        }
+    }
+
     private Room mapResultSetToRoom(ResultSet rs) throws SQLException {
         return new Room(
                 rs.getInt("room_id"),
@@ -1,10 +1,14 @@
 package main.java.com.hotelreservation.service;
 
+import main.java.com.hotelreservation.dao.Page;
 import main.java.com.hotelreservation.model.Customer;
 import main.java.com.hotelreservation.repository.CustomerRepository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CustomerService {
     private final CustomerRepository customerRepository;
@@ -18,14 +22,27 @@ public class CustomerService {
         return customer;
     }
 
+    public List<Customer> createCustomers(List<Customer> customers) {
+        customerRepository.saveAll(customers);
+        return customers;
+    }
+
     public Optional<Customer> getCustomerById(int id) {
         return customerRepository.findById(id);
     }
 
+    public Map<Integer, Customer> getCustomersByIds(Collection<Integer> ids) {
+        return customerRepository.findAllByIds(ids);
+    }
+
     public List<Customer> getAllCustomers() {
         return customerRepository.findAll();
     }
 
+    public Stream<Customer> streamAllCustomers() {
+        return customerRepository.streamAll();
+    }
+
     public void updateCustomer(Customer customer) {
         customerRepository.update(customer);
     }
@@ -41,4 +58,12 @@ public class CustomerService {
     public List<Customer> findCustomersByName(String name) {
         return customerRepository.findByName(name);
     }
+
+    public Page<Customer> getCustomersPage(String pageToken, int pageSize) {
+        return customerRepository.findPage(pageToken, pageSize);
+    }
+
+    public Page<Customer> findCustomersByNamePage(String name, String pageToken, int pageSize) {
+        return customerRepository.findPageByName(name, pageToken, pageSize);
+    }
 }
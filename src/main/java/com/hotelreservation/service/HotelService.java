@@ -1,9 +1,12 @@
 package main.java.com.hotelreservation.service;
 
+import main.java.com.hotelreservation.dao.Page;
 import main.java.com.hotelreservation.model.Hotel;
 import main.java.com.hotelreservation.repository.HotelRepository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class HotelService {
@@ -18,10 +21,19 @@ public class HotelService {
         return hotel;
     }
 
+    public List<Hotel> createHotels(List<Hotel> hotels) {
+        hotelRepository.saveAll(hotels);
+        return hotels;
+    }
+
     public Optional<Hotel> getHotelById(int id) {
         return hotelRepository.findById(id);
     }
 
+    public Map<Integer, Hotel> getHotelsByIds(Collection<Integer> ids) {
+        return hotelRepository.findAllByIds(ids);
+    }
+
     public List<Hotel> getAllHotels() {
         return hotelRepository.findAll();
     }
@@ -41,4 +53,8 @@ public class HotelService {
     public Optional<Hotel> findHotelByAddress(String address) {
         return hotelRepository.findByAddress(address);
     }
+
+    public Page<Hotel> getHotelsPage(String pageToken, int pageSize) {
+        return hotelRepository.findPage(pageToken, pageSize);
+    }
 }
@@ -0,0 +1,10 @@
+package main.java.com.hotelreservation.service;
+
+import main.java.com.hotelreservation.model.Reservation;
+
+// Fired after the change is saved. An update or cancellation is reported as the old state removed and the new one added.
+public interface ReservationChangeListener {
+    void reservationAdded(Reservation reservation);
+
+    void reservationRemoved(Reservation reservation);
+}
@@ -1,67 +1,115 @@
 package main.java.com.hotelreservation.service;
 
+import main.java.com.hotelreservation.availability.AvailabilityIndex;
+import main.java.com.hotelreservation.dao.Fetch;
+import main.java.com.hotelreservation.dao.Page;
 import main.java.com.hotelreservation.model.Reservation;
 import main.java.com.hotelreservation.model.Room;
 import main.java.com.hotelreservation.model.enums.ReservationStatus;
-import main.java.com.hotelreservation.pricing.DynamicPricing;
+import main.java.com.hotelreservation.pricing.PricingStrategy;
+import main.java.com.hotelreservation.pricing.QuoteRequest;
 import main.java.com.hotelreservation.repository.ReservationRepository;
 import main.java.com.hotelreservation.repository.RoomRepository;
+import main.java.com.hotelreservation.util.DayHorizon;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 public class ReservationService {
     private final ReservationRepository reservationRepository;
-    private final DynamicPricing pricingStrategy;
+    private final PricingStrategy pricingStrategy;
     private final RoomRepository roomRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final List<ReservationChangeListener> listeners = new CopyOnWriteArrayList<>();
 
+    public ReservationService(ReservationRepository reservationRepository, PricingStrategy pricingStrategy, RoomRepository roomRepository) {
+        this(reservationRepository, pricingStrategy, roomRepository, AvailabilityIndex.load(
+                DayHorizon.startingToday(AvailabilityIndex.DEFAULT_HORIZON_DAYS), roomRepository, reservationRepository));
+    }
 
-    public ReservationService(ReservationRepository reservationRepository, DynamicPricing pricingStrategy, RoomRepository roomRepository) {
+    public ReservationService(ReservationRepository reservationRepository, PricingStrategy pricingStrategy,
+                              RoomRepository roomRepository, AvailabilityIndex availabilityIndex) {
         this.reservationRepository = reservationRepository;
         this.pricingStrategy = pricingStrategy;
         this.roomRepository = roomRepository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    public void addChangeListener(ReservationChangeListener listener) {
+        listeners.add(listener);
     }
 
     public Reservation createReservation(Reservation reservation) {
         Optional<Room> room = roomRepository.findById(reservation.getRoomId());
         if (room.isPresent()) {
-            double occupancyRate = calculateOccupancyRate(reservation.getStartDate(), reservation.getEndDate());
+            double occupancyRate = availabilityIndex.getOccupancyCounters()
+                    .averageOccupancy(reservation.getStartDate(), reservation.getEndDate());
             double price = pricingStrategy.calculatePrice(
+                    room.get().getHotelId(),
                     reservation.getStartDate(),
                     reservation.getEndDate(),
                     room.get().getRoomType(),
                     occupancyRate
             );
             reservation.setTotalPrice(price);
-            return reservationRepository.save(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            if (!availabilityIndex.containsRoom(saved.getRoomId())) {
+                availabilityIndex.putRoom(room.get());
+            }
+            markNights(saved, true);
+            listeners.forEach(l -> l.reservationAdded(saved));
+            return saved;
         } else {
             throw new RuntimeException("Room not found with ID: " + reservation.getRoomId());
         }
     }
 
-    private double calculateOccupancyRate(LocalDate startDate, LocalDate endDate) {
-        long totalRooms = roomRepository.findAll().size();
-        long occupiedRooms = reservationRepository.findByDateRange(startDate, endDate)
-                .stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .count();
-        return (double) occupiedRooms / totalRooms;
+    // Totals for each requested stay, priced against the current occupancy over that stay.
+    public double[] quoteStays(List<QuoteRequest> requests) {
+        return pricingStrategy.calculatePrices(requests, availabilityIndex.getOccupancyCounters()::averageOccupancy);
     }
+
     public Optional<Reservation> getReservationById(int id) {
         return reservationRepository.findById(id);
     }
 
+    public Map<Integer, Reservation> getReservationsByIds(Collection<Integer> ids) {
+        return reservationRepository.findAllByIds(ids);
+    }
+
     public List<Reservation> getAllReservations() {
         return reservationRepository.findAll();
     }
 
+    public Stream<Reservation> streamAllReservations() {
+        return reservationRepository.streamAll();
+    }
+
     public void updateReservation(Reservation reservation) {
+        Optional<Reservation> before = reservationRepository.findById(reservation.getReservationId());
         reservationRepository.update(reservation);
+        before.ifPresent(r -> markNights(r, false));
+        if (!availabilityIndex.containsRoom(reservation.getRoomId())) {
+            roomRepository.findById(reservation.getRoomId()).ifPresent(availabilityIndex::putRoom);
+        }
+        markNights(reservation, true);
+        // update() leaves total_price alone, so the stored row keeps the price it was booked at.
+        Reservation after = copyOf(reservation);
+        before.ifPresent(r -> after.setTotalPrice(r.getTotalPrice()));
+        before.ifPresent(r -> listeners.forEach(l -> l.reservationRemoved(r)));
+        listeners.forEach(l -> l.reservationAdded(after));
     }
 
     public void deleteReservation(int id) {
+        Optional<Reservation> before = reservationRepository.findById(id);
         reservationRepository.delete(id);
+        before.ifPresent(r -> markNights(r, false));
+        before.ifPresent(r -> listeners.forEach(l -> l.reservationRemoved(r)));
     }
 
     public List<Reservation> findReservationsByCustomerId(int customerId) {
@@ -72,10 +120,34 @@ public class ReservationService {
         return reservationRepository.findByDateRange(startDate, endDate);
     }
 
+    public List<Reservation> findReservationsByDateRange(LocalDate startDate, LocalDate endDate, Fetch... fetch) {
+        return reservationRepository.findByDateRange(startDate, endDate, fetch);
+    }
+
+    public List<Reservation> findOverlappingReservations(LocalDate startDate, LocalDate endDate) {
+        return reservationRepository.findOverlapping(startDate, endDate);
+    }
+
+    public List<Reservation> findArrivals(LocalDate date) {
+        return reservationRepository.findArrivals(date, Fetch.CUSTOMER, Fetch.HOTEL);
+    }
+
     public List<Reservation> findReservationsByStatus(ReservationStatus status) {
         return reservationRepository.findByStatus(status);
     }
 
+    public Page<Reservation> getReservationsPage(String pageToken, int pageSize) {
+        return reservationRepository.findPage(pageToken, pageSize);
+    }
+
+    public Page<Reservation> findReservationsByStatusPage(ReservationStatus status, String pageToken, int pageSize) {
+        return reservationRepository.findPageByStatus(status, pageToken, pageSize);
+    }
+
+    public Page<Reservation> findReservationsByCustomerIdPage(int customerId, String pageToken, int pageSize) {
+        return reservationRepository.findPageByCustomerId(customerId, pageToken, pageSize);
+    }
+
     public List<Reservation> findReservationsByRoomId(int roomId) {
         return reservationRepository.findByRoomId(roomId);
     }
@@ -84,10 +156,35 @@ public class ReservationService {
         Optional<Reservation> optionalReservation = reservationRepository.findById(reservationId);
         if (optionalReservation.isPresent()) {
             Reservation reservation = optionalReservation.get();
+            Reservation before = copyOf(reservation);
             reservation.setStatus(ReservationStatus.CANCELLED);
             reservationRepository.update(reservation);
+            if (before.getStatus() == ReservationStatus.CONFIRMED) {
+                availabilityIndex.release(reservation.getRoomId(), reservation.getStartDate(), reservation.getEndDate());
+            }
+            listeners.forEach(l -> l.reservationRemoved(before));
+            listeners.forEach(l -> l.reservationAdded(reservation));
         } else {
             throw new RuntimeException("Reservation not found with ID: " + reservationId);
         }
     }
+
+    private static Reservation copyOf(Reservation reservation) {
+        Reservation copy = new Reservation(reservation.getReservationId(), reservation.getStartDate(),
+                reservation.getEndDate(), reservation.getStatus(), reservation.getRoomId(), reservation.getCustomer());
+        copy.setTotalPrice(reservation.getTotalPrice());
+        return copy;
+    }
+
+    // Only CONFIRMED stays hold room-nights in the availability index and its occupancy counters.
+    private void markNights(Reservation reservation, boolean occupied) {
+        if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
+            return;
+        }
+        if (occupied) {
+            availabilityIndex.reserve(reservation.getRoomId(), reservation.getStartDate(), reservation.getEndDate());
+        } else {
+            availabilityIndex.release(reservation.getRoomId(), reservation.getStartDate(), reservation.getEndDate());
+        }
+    }
 }
@@ -0,0 +1,10 @@
+package main.java.com.hotelreservation.service;
+
+import main.java.com.hotelreservation.model.Room;
+
+// Fired after the change is saved. An update is reported as the old room removed and the new one added.
+public interface RoomChangeListener {
+    void roomAdded(Room room);
+
+    void roomRemoved(Room room);
+}
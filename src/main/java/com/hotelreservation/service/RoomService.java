@@ -1,34 +1,104 @@
 package main.java.com.hotelreservation.service;
 
+import main.java.com.hotelreservation.availability.AvailabilityIndex;
 import main.java.com.hotelreservation.model.Room;
 import main.java.com.hotelreservation.model.enums.RoomType;
 import main.java.com.hotelreservation.repository.RoomRepository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class RoomService {
     private final RoomRepository roomRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final List<RoomChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     public RoomService(RoomRepository roomRepository) {
+        this(roomRepository, null);
+    }
+
+    public RoomService(RoomRepository roomRepository, AvailabilityIndex availabilityIndex) {
         this.roomRepository = roomRepository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    public void addChangeListener(RoomChangeListener listener) {
+        listeners.add(listener);
     }
 
     public Room createRoom(Room room) {
         roomRepository.save(room);
+        if (availabilityIndex != null) {
+            availabilityIndex.putRoom(room);
+        }
+        listeners.forEach(l -> l.roomAdded(room));
         return room;
     }
 
+    public List<Room> createRooms(List<Room> rooms) {
+        roomRepository.saveAll(rooms);
+        if (availabilityIndex != null) {
+            rooms.forEach(availabilityIndex::putRoom);
+        }
+        for (Room room : rooms) {
+            listeners.forEach(l -> l.roomAdded(room));
+        }
+        return rooms;
+    }
+
     public Optional<Room> getRoomById(int id) {
         return roomRepository.findById(id);
     }
 
+    public Map<Integer, Room> getRoomsByIds(Collection<Integer> ids) {
+        return roomRepository.findAllByIds(ids);
+    }
+
     public void updateRoom(Room room) {
+        Optional<Room> before = listeners.isEmpty() ? Optional.empty() : roomRepository.findById(room.getRoomId());
         roomRepository.update(room);
+        if (availabilityIndex != null) {
+            availabilityIndex.putRoom(room);
+        }
+        before.ifPresent(r -> listeners.forEach(l -> l.roomRemoved(r)));
+        listeners.forEach(l -> l.roomAdded(room));
     }
 
     public void deleteRoom(int id) {
+        Optional<Room> before = listeners.isEmpty() ? Optional.empty() : roomRepository.findById(id);
         roomRepository.delete(id);
+        if (availabilityIndex != null) {
+            availabilityIndex.removeRoom(id);
+        }
+        before.ifPresent(r -> listeners.forEach(l -> l.roomRemoved(r)));
+    }
+
+    // Rooms in the hotel with no CONFIRMED stay overlapping [startDate, endDate), ordered by room ID.
+    public List<Room> searchAvailable(int hotelId, RoomType roomType, LocalDate startDate, LocalDate endDate, int limit) {
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date: " + startDate + " to " + endDate);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        if (availabilityIndex == null || !availabilityIndex.covers(startDate, endDate)) {
+            return roomRepository.findAvailable(hotelId, roomType, startDate, endDate, limit);
+        }
+        List<Integer> roomIds = availabilityIndex.findAvailable(hotelId, roomType, startDate, endDate, limit);
+        Map<Integer, Room> found = roomRepository.findAllByIds(roomIds);
+        List<Room> rooms = new ArrayList<>(roomIds.size());
+        for (Integer roomId : roomIds) {
+            Room room = found.get(roomId);
+            if (room != null) {
+                rooms.add(room);
+            }
+        }
+        return rooms;
     }
 
     public List<Room> findRoomsByType(RoomType type) {
@@ -0,0 +1,263 @@
+package main.java.com.hotelreservation.simulation;
+
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.Room;
+import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.pricing.PriceCalendar;
+import main.java.com.hotelreservation.pricing.PricingSnapshot;
+import main.java.com.hotelreservation.pricing.PricingStrategy;
+import main.java.com.hotelreservation.repository.ReservationRepository;
+import main.java.com.hotelreservation.repository.RoomRepository;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/*
+ * Re-prices the confirmed reservations that check in during a window under the current pricing and under a
+ * candidate, using the nightly rates and occupancy discount DynamicPricing applies. The occupancy each
+ * booking saw is not stored, so it is rebuilt from the reservations themselves against today's room count.
+ * Reservations are streamed into flat arrays and priced in parallel with fork/join; a second, narrower pass
+ * adds the stays checking in after the window to the occupancy of the nights priced stays run into.
+ */
+public class PricingSimulator {
+    private static final int SPLIT_THRESHOLD = Integer.getInteger("hoteljdbc.simulation.splitThreshold", 16_384);
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final PricingStrategy discounts;
+    private final ForkJoinPool pool;
+
+    public PricingSimulator(ReservationRepository reservationRepository, RoomRepository roomRepository,
+                            PricingStrategy discounts) {
+        this(reservationRepository, roomRepository, discounts, ForkJoinPool.commonPool());
+    }
+
+    public PricingSimulator(ReservationRepository reservationRepository, RoomRepository roomRepository,
+                            PricingStrategy discounts, ForkJoinPool pool) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.discounts = discounts;
+        this.pool = pool;
+    }
+
+    // Reservations checking in on [startDate, endDate) are priced in full, including nights past endDate.
+    public SimulationReport simulate(LocalDate startDate, LocalDate endDate, PricingSnapshot current, PricingSnapshot candidate) {
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        long started = System.nanoTime();
+        List<Room> rooms = roomRepository.findAll();
+        Map<Integer, RoomType> roomTypes = new HashMap<>();
+        rooms.forEach(room -> roomTypes.put(room.getRoomId(), room.getRoomType()));
+
+        Stays stays = new Stays(startDate.toEpochDay(), endDate.toEpochDay());
+        try (Stream<Reservation> reservations = reservationRepository.streamOverlapping(startDate, endDate)) {
+            reservations.forEach(reservation -> {
+                RoomType roomType = roomTypes.get(reservation.getRoomId());
+                if (reservation.getStatus() == ReservationStatus.CONFIRMED && roomType != null) {
+                    stays.add(roomType, reservation.getStartDate().toEpochDay(), reservation.getEndDate().toEpochDay());
+                }
+            });
+        }
+        // Stays overlapping the window were counted above; only those checking in from endDate on are new here.
+        LocalDate occupancyEnd = startDate.plusDays(stays.days);
+        if (occupancyEnd.isAfter(endDate)) {
+            try (Stream<Reservation> reservations = reservationRepository.streamOverlapping(endDate, occupancyEnd)) {
+                reservations.forEach(reservation -> {
+                    if (reservation.getStatus() == ReservationStatus.CONFIRMED && roomTypes.containsKey(reservation.getRoomId())
+                            && !reservation.getStartDate().isBefore(endDate)) {
+                        stays.addOccupancy(reservation.getStartDate().toEpochDay(), reservation.getEndDate().toEpochDay());
+                    }
+                });
+            }
+        }
+
+        DayHorizon horizon = new DayHorizon(startDate, stays.days);
+        PriceCalendar currentRates = PriceCalendar.build(horizon, current::nightlyRate);
+        PriceCalendar candidateRates = PriceCalendar.build(horizon, candidate::nightlyRate);
+        long[] occupiedNights = stays.occupiedNightsPrefix();
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.atDay(1).isAfter(horizon.getEnd().minusDays(1)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        // monthStarts[m] is the horizon index where month m begins; the last entry closes the horizon.
+        int[] monthStarts = new int[months.size() + 1];
+        for (int m = 1; m < months.size(); m++) {
+            monthStarts[m] = horizon.indexOf(months.get(m).atDay(1));
+        }
+        monthStarts[months.size()] = horizon.getDays();
+
+        PriceTask task = new PriceTask(stays, 0, stays.size, currentRates, candidateRates, occupiedNights,
+                rooms.size(), monthStarts, discounts);
+        double[] totals = pool.invoke(task);
+
+        List<SimulationReport.Line> lines = new ArrayList<>();
+        for (RoomType roomType : ROOM_TYPES) {
+            for (int m = 0; m < months.size(); m++) {
+                int cell = PriceTask.cell(roomType.ordinal(), m, months.size());
+                if (totals[cell + 2] > 0 || totals[cell] != 0 || totals[cell + 1] != 0) {
+                    lines.add(new SimulationReport.Line(roomType, months.get(m), (long) totals[cell + 2],
+                            totals[cell], totals[cell + 1]));
+                }
+            }
+        }
+        return new SimulationReport(startDate, endDate, lines, stays.size, System.nanoTime() - started);
+    }
+
+    /*
+     * Stays to price, as day offsets from the window start, plus the occupied-room count per day of every
+     * confirmed stay overlapping the window as a difference array. Both grow as rows stream in; stays added
+     * by addOccupancy only fill in days the priced stays already reach.
+     */
+    private static final class Stays {
+        final long origin;
+        final long windowEnd;
+        byte[] types = new byte[1024];
+        int[] starts = new int[1024];
+        int[] ends = new int[1024];
+        int size;
+        int[] occupancyChanges;
+        int days;
+
+        Stays(long origin, long windowEnd) {
+            this.origin = origin;
+            this.windowEnd = windowEnd;
+            this.days = (int) (windowEnd - origin);
+            this.occupancyChanges = new int[days + 1];
+        }
+
+        void add(RoomType roomType, long startDay, long endDay) {
+            int start = (int) (startDay - origin);
+            int end = (int) (endDay - origin);
+            if (end > days) {
+                days = end;
+                if (days >= occupancyChanges.length) {
+                    occupancyChanges = Arrays.copyOf(occupancyChanges, Math.max(days + 1, occupancyChanges.length * 2));
+                }
+            }
+            occupancyChanges[Math.max(start, 0)]++;
+            occupancyChanges[end]--;
+            if (start < 0 || startDay >= windowEnd) {
+                return;
+            }
+            if (size == starts.length) {
+                types = Arrays.copyOf(types, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            types[size] = (byte) roomType.ordinal();
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        // Counts a stay towards occupancy only, clipped to the days already covered.
+        void addOccupancy(long startDay, long endDay) {
+            int start = (int) (startDay - origin);
+            int end = (int) Math.min(endDay - origin, days);
+            if (start < end) {
+                occupancyChanges[start]++;
+                occupancyChanges[end]--;
+            }
+        }
+
+        // prefix[d] = occupied room-nights on days [0, d) of the horizon.
+        long[] occupiedNightsPrefix() {
+            long[] prefix = new long[days + 1];
+            int occupied = 0;
+            for (int day = 0; day < days; day++) {
+                occupied += occupancyChanges[day];
+                prefix[day + 1] = prefix[day] + occupied;
+            }
+            return prefix;
+        }
+    }
+
+    // Sums per (room type, month): current revenue, candidate revenue and check-ins, three slots per cell.
+    private static final class PriceTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Stays stays;
+        private final int from;
+        private final int to;
+        private final transient PriceCalendar currentRates;
+        private final transient PriceCalendar candidateRates;
+        private final long[] occupiedNights;
+        private final int roomCount;
+        private final int[] monthStarts;
+        private final transient PricingStrategy discounts;
+
+        PriceTask(Stays stays, int from, int to, PriceCalendar currentRates, PriceCalendar candidateRates,
+                  long[] occupiedNights, int roomCount, int[] monthStarts, PricingStrategy discounts) {
+            this.stays = stays;
+            this.from = from;
+            this.to = to;
+            this.currentRates = currentRates;
+            this.candidateRates = candidateRates;
+            this.occupiedNights = occupiedNights;
+            this.roomCount = roomCount;
+            this.monthStarts = monthStarts;
+            this.discounts = discounts;
+        }
+
+        static int cell(int type, int month, int months) {
+            return (type * months + month) * 3;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                PriceTask left = new PriceTask(stays, from, mid, currentRates, candidateRates, occupiedNights,
+                        roomCount, monthStarts, discounts);
+                PriceTask right = new PriceTask(stays, mid, to, currentRates, candidateRates, occupiedNights,
+                        roomCount, monthStarts, discounts);
+                left.fork();
+                double[] totals = right.compute();
+                double[] leftTotals = left.join();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += leftTotals[i];
+                }
+                return totals;
+            }
+
+            int months = monthStarts.length - 1;
+            double[] totals = new double[ROOM_TYPES.length * months * 3];
+            for (int i = from; i < to; i++) {
+                RoomType roomType = ROOM_TYPES[stays.types[i]];
+                int start = stays.starts[i];
+                int end = stays.ends[i];
+                long nights = end - start;
+                double occupancyRate = roomCount == 0 ? 0
+                        : (double) (occupiedNights[end] - occupiedNights[start]) / (nights * roomCount);
+                double occupancyFactor = 1 - discounts.getOccupancyBasedDiscount(occupancyRate);
+
+                int month = Arrays.binarySearch(monthStarts, 0, months, start);
+                if (month < 0) {
+                    month = -month - 2;
+                }
+                totals[cell(roomType.ordinal(), month, months) + 2]++;
+                for (int day = start; day < end; month++) {
+                    int monthEnd = Math.min(end, monthStarts[month + 1]);
+                    int cell = cell(roomType.ordinal(), month, months);
+                    totals[cell] += currentRates.total(roomType, day, monthEnd) * occupancyFactor;
+                    totals[cell + 1] += candidateRates.total(roomType, day, monthEnd) * occupancyFactor;
+                    day = monthEnd;
+                }
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package main.java.com.hotelreservation.simulation;
+
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Revenue under the current and the candidate pricing, per room type and month of the nights sold.
+public class SimulationReport {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<Line> lines;
+    private final long reservations;
+    private final long elapsedNanos;
+
+    public static class Line {
+        private final RoomType roomType;
+        private final YearMonth month;
+        private final long reservations;
+        private final double currentRevenue;
+        private final double candidateRevenue;
+
+        Line(RoomType roomType, YearMonth month, long reservations, double currentRevenue, double candidateRevenue) {
+            this.roomType = roomType;
+            this.month = month;
+            this.reservations = reservations;
+            this.currentRevenue = currentRevenue;
+            this.candidateRevenue = candidateRevenue;
+        }
+
+        public RoomType getRoomType() {
+            return roomType;
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        // Reservations checking in during this month.
+        public long getReservations() {
+            return reservations;
+        }
+
+        public double getCurrentRevenue() {
+            return currentRevenue;
+        }
+
+        public double getCandidateRevenue() {
+            return candidateRevenue;
+        }
+
+        public double getDelta() {
+            return candidateRevenue - currentRevenue;
+        }
+
+        public double getDeltaPercent() {
+            return currentRevenue == 0 ? 0 : getDelta() / currentRevenue * 100;
+        }
+    }
+
+    SimulationReport(LocalDate startDate, LocalDate endDate, List<Line> lines, long reservations, long elapsedNanos) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+        this.reservations = reservations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public long getReservations() {
+        return reservations;
+    }
+
+    public double getCurrentRevenue() {
+        return lines.stream().mapToDouble(Line::getCurrentRevenue).sum();
+    }
+
+    public double getCandidateRevenue() {
+        return lines.stream().mapToDouble(Line::getCandidateRevenue).sum();
+    }
+
+    public double getDelta() {
+        return getCandidateRevenue() - getCurrentRevenue();
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Re-priced %,d reservations starting %s to %s in %.2f s%n",
+                reservations, startDate, endDate, getElapsedSeconds()));
+        report.append(String.format("%-8s %-8s %12s %16s %16s %14s %8s%n",
+                "Type", "Month", "Check-ins", "Current", "Candidate", "Delta", "Delta %"));
+        for (Line line : lines) {
+            report.append(String.format("%-8s %-8s %,12d %,16.2f %,16.2f %,14.2f %7.1f%%%n",
+                    line.getRoomType(), line.getMonth(), line.getReservations(), line.getCurrentRevenue(),
+                    line.getCandidateRevenue(), line.getDelta(), line.getDeltaPercent()));
+        }
+        double current = getCurrentRevenue();
+        report.append(String.format("%-17s %12s %,16.2f %,16.2f %,14.2f %7.1f%%",
+                "Total", "", current, getCandidateRevenue(), getDelta(), current == 0 ? 0 : getDelta() / current * 100));
+        return report.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package main.java.com.hotelreservation.statistics;
+
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/*
+ * Confirmed reservations per day, in total and per room type, over the inclusive report range.
+ * Built with one pass over the reservations into a difference array and one sweep over the days.
+ * A reservation occupies its end date too, as everywhere else in Statistics.
+ */
+public final class DailyOccupancy {
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final DayHorizon horizon;
+    private final int[] occupied;
+    private final int[][] occupiedByType;
+
+    private DailyOccupancy(DayHorizon horizon, int[] occupied, int[][] occupiedByType) {
+        this.horizon = horizon;
+        this.occupied = occupied;
+        this.occupiedByType = occupiedByType;
+    }
+
+    // Reservations whose room is unknown only count in the total.
+    static DailyOccupancy build(ReservationIndex index, LocalDate startDate, LocalDate endDate) {
+        DayHorizon horizon = horizon(startDate, endDate);
+        int[] occupied = new int[horizon.getDays() + 1];
+        int[][] occupiedByType = new int[ROOM_TYPES.length][horizon.getDays() + 1];
+        for (RoomType roomType : ROOM_TYPES) {
+            count(index.reservations(ReservationStatus.CONFIRMED, roomType), horizon, occupied, occupiedByType[roomType.ordinal()]);
+        }
+        count(index.reservations(ReservationStatus.CONFIRMED, null), horizon, occupied, null);
+        return fromChanges(horizon, occupied, occupiedByType);
+    }
+
+    // changes[d] is the number of stays starting on day d minus those that ended the day before; one extra slot at the end.
+    static DailyOccupancy fromChanges(DayHorizon horizon, int[] occupiedChanges, int[][] occupiedByTypeChanges) {
+        sweep(occupiedChanges);
+        for (int[] typeChanges : occupiedByTypeChanges) {
+            sweep(typeChanges);
+        }
+        return new DailyOccupancy(horizon, occupiedChanges, occupiedByTypeChanges);
+    }
+
+    // counts[d] is already the number occupied on day d.
+    static DailyOccupancy fromCounts(DayHorizon horizon, int[] occupied, int[][] occupiedByType) {
+        return new DailyOccupancy(horizon, occupied, occupiedByType);
+    }
+
+    static DayHorizon horizon(LocalDate startDate, LocalDate endDate) {
+        return new DayHorizon(startDate, (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1));
+    }
+
+    private static void count(Collection<Reservation> reservations, DayHorizon horizon, int[] occupied, int[] occupiedByType) {
+        LocalDate startDate = horizon.getOrigin();
+        LocalDate endDate = horizon.getEnd().minusDays(1);
+        for (Reservation reservation : reservations) {
+            if (reservation.getEndDate().isBefore(startDate) || reservation.getStartDate().isAfter(endDate)) {
+                continue;
+            }
+            int from = horizon.clampedIndexOf(reservation.getStartDate());
+            int to = horizon.clampedIndexOf(reservation.getEndDate().plusDays(1));
+            occupied[from]++;
+            occupied[to]--;
+            if (occupiedByType != null) {
+                occupiedByType[from]++;
+                occupiedByType[to]--;
+            }
+        }
+    }
+
+    private static void sweep(int[] changes) {
+        for (int day = 1; day < changes.length; day++) {
+            changes[day] += changes[day - 1];
+        }
+    }
+
+    DayHorizon getHorizon() {
+        return horizon;
+    }
+
+    int getDays() {
+        return horizon.getDays();
+    }
+
+    int occupied(int day) {
+        return occupied[day];
+    }
+
+    int occupied(RoomType roomType, int day) {
+        return occupiedByType[roomType.ordinal()][day];
+    }
+
+    long occupiedRoomDays() {
+        return sum(occupied);
+    }
+
+    long occupiedRoomDays(RoomType roomType) {
+        return sum(occupiedByType[roomType.ordinal()]);
+    }
+
+    private long sum(int[] counts) {
+        long total = 0;
+        for (int day = 0; day < horizon.getDays(); day++) {
+            total += counts[day];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,156 @@
+package main.java.com.hotelreservation.statistics;
+
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.Room;
+import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.service.ReservationChangeListener;
+import main.java.com.hotelreservation.service.RoomChangeListener;
+import main.java.com.hotelreservation.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+ * Keeps daily_stats in step with the reservations. Each change adds or subtracts one reservation's rows:
+ * a confirmed stay counts as occupied on every date from start through end; a cancelled one counts once
+ * on its start date as an arrival and once on its end date as a departure. The rows are written after
+ * the reservation has been saved, so a failed write is only logged: the booking stands, later listeners
+ * still run, and rebuild() repairs the rollup. A room moving to another hotel or type arrives as the old
+ * room removed and the new one added, which moves all of its reservations' rows between the two keys.
+ */
+public class DailyStatsRollup implements ReservationChangeListener, RoomChangeListener {
+    private static final String UPSERT = "ON CONFLICT (stat_date, hotel_id, room_type) DO UPDATE SET "
+            + "occupied = daily_stats.occupied + EXCLUDED.occupied, "
+            + "cancelled_arrivals = daily_stats.cancelled_arrivals + EXCLUDED.cancelled_arrivals, "
+            + "cancelled_departures = daily_stats.cancelled_departures + EXCLUDED.cancelled_departures";
+
+    // One row per reservation and date it counts on, with the room's current hotel and type.
+    private static final String RESERVATION_ROWS = "SELECT r.room_id, d::date AS stat_date, rm.hotel_id, rm.room_type, "
+            + "1 AS occupied, 0 AS arrivals, 0 AS departures "
+            + "FROM reservations r JOIN rooms rm ON rm.room_id = r.room_id "
+            + "CROSS JOIN generate_series(r.start_date, r.end_date, interval '1 day') AS d "
+            + "WHERE r.status = 'CONFIRMED' "
+            + "UNION ALL "
+            + "SELECT r.room_id, c.day, rm.hotel_id, rm.room_type, 0, c.arrivals, c.departures "
+            + "FROM reservations r JOIN rooms rm ON rm.room_id = r.room_id "
+            + "CROSS JOIN LATERAL (VALUES (r.start_date, 1, 0), (r.end_date, 0, 1)) AS c (day, arrivals, departures) "
+            + "WHERE r.status = 'CANCELLED'";
+
+    // Fills an empty daily_stats from the reservations; migration V7 backfills with it too.
+    public static final String REBUILD = "INSERT INTO daily_stats "
+            + "(stat_date, hotel_id, room_type, occupied, cancelled_arrivals, cancelled_departures) "
+            + "SELECT s.stat_date, s.hotel_id, s.room_type, SUM(s.occupied), SUM(s.arrivals), SUM(s.departures) "
+            + "FROM (" + RESERVATION_ROWS + ") AS s "
+            + "GROUP BY s.stat_date, s.hotel_id, s.room_type";
+
+    @Override
+    public void reservationAdded(Reservation reservation) {
+        apply(reservation, 1);
+    }
+
+    @Override
+    public void reservationRemoved(Reservation reservation) {
+        apply(reservation, -1);
+    }
+
+    @Override
+    public void roomAdded(Room room) {
+        applyRoom(room, 1);
+    }
+
+    @Override
+    public void roomRemoved(Room room) {
+        applyRoom(room, -1);
+    }
+
+    // Recomputes every row from the reservations in one transaction.
+    public int rebuild() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM daily_stats");
+                int rows = stmt.executeUpdate(REBUILD);
+                conn.commit();
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error rebuilding daily stats", e);
+        }
+    }
+
+    private void apply(Reservation reservation, int sign) {
+        try {
+            if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+                applyStay(reservation, sign);
+            } else if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+                applyCancellation(reservation, sign);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Error updating daily stats for reservation " + reservation.getReservationId()
+                    + ", run rebuild-rollups to repair: " + e.getMessage());
+        }
+    }
+
+    // Adds or subtracts all of the room's reservations under the hotel and type the event carries.
+    private void applyRoom(Room room, int sign) {
+        String sql = "INSERT INTO daily_stats "
+                + "(stat_date, hotel_id, room_type, occupied, cancelled_arrivals, cancelled_departures) "
+                + "SELECT s.stat_date, ?, CAST(? AS room_type), ? * SUM(s.occupied), ? * SUM(s.arrivals), ? * SUM(s.departures) "
+                + "FROM (" + RESERVATION_ROWS + ") AS s WHERE s.room_id = ? GROUP BY s.stat_date " + UPSERT;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, room.getHotelId());
+            pstmt.setString(2, room.getRoomType().name());
+            pstmt.setInt(3, sign);
+            pstmt.setInt(4, sign);
+            pstmt.setInt(5, sign);
+            pstmt.setInt(6, room.getRoomId());
+            pstmt.executeUpdate();
+        } catch (SQLException | RuntimeException e) {
+            System.out.println("Error moving daily stats for room " + room.getRoomId()
+                    + ", run rebuild-rollups to repair: " + e.getMessage());
+        }
+    }
+
+    private void applyStay(Reservation reservation, int sign) {
+        String sql = "INSERT INTO daily_stats (stat_date, hotel_id, room_type, occupied) "
+                + "SELECT d::date, rm.hotel_id, rm.room_type, ? "
+                + "FROM rooms rm CROSS JOIN generate_series(?::date, ?::date, interval '1 day') AS d "
+                + "WHERE rm.room_id = ? " + UPSERT;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, sign);
+            pstmt.setDate(2, Date.valueOf(reservation.getStartDate()));
+            pstmt.setDate(3, Date.valueOf(reservation.getEndDate()));
+            pstmt.setInt(4, reservation.getRoomId());
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating daily stats", e);
+        }
+    }
+
+    // Grouped so a stay starting and ending on the same date upserts one row.
+    private void applyCancellation(Reservation reservation, int sign) {
+        String sql = "INSERT INTO daily_stats (stat_date, hotel_id, room_type, cancelled_arrivals, cancelled_departures) "
+                + "SELECT c.day, rm.hotel_id, rm.room_type, SUM(c.arrivals), SUM(c.departures) "
+                + "FROM rooms rm CROSS JOIN (VALUES (?::date, ?, 0), (?::date, 0, ?)) AS c (day, arrivals, departures) "
+                + "WHERE rm.room_id = ? GROUP BY c.day, rm.hotel_id, rm.room_type " + UPSERT;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(reservation.getStartDate()));
+            pstmt.setInt(2, sign);
+            pstmt.setDate(3, Date.valueOf(reservation.getEndDate()));
+            pstmt.setInt(4, sign);
+            pstmt.setInt(5, reservation.getRoomId());
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating daily stats", e);
+        }
+    }
+}
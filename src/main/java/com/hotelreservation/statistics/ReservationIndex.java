@@ -0,0 +1,261 @@
+package main.java.com.hotelreservation.statistics;
+
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.Room;
+import main.java.com.hotelreservation.model.enums.ReservationStatus;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.service.ReservationChangeListener;
+import main.java.com.hotelreservation.service.RoomChangeListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ * The rooms and reservations Statistics reports over, indexed once: room types by room id and
+ * reservations partitioned by status and room type, keyed by reservation id. Reservations whose room
+ * is unknown are kept per status under a null type; they count towards totals but not towards any
+ * room type. Change events from the services are applied in place, so reports never need a reload.
+ */
+final class ReservationIndex implements StatisticsSource, ReservationChangeListener, RoomChangeListener {
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private RoomType[] roomTypesById;
+    private final int[] roomCounts = new int[ROOM_TYPES.length];
+    private int roomCount;
+    private final Map<ReservationStatus, List<Map<Integer, Reservation>>> partitions = new EnumMap<>(ReservationStatus.class);
+    private int reservationCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    ReservationIndex(List<Room> rooms, Stream<Reservation> reservations) {
+        for (ReservationStatus status : ReservationStatus.values()) {
+            List<Map<Integer, Reservation>> byType = new ArrayList<>(ROOM_TYPES.length + 1);
+            for (int i = 0; i <= ROOM_TYPES.length; i++) {
+                byType.add(new HashMap<>());
+            }
+            partitions.put(status, byType);
+        }
+        int maxRoomId = rooms.stream().mapToInt(Room::getRoomId).max().orElse(0);
+        this.roomTypesById = new RoomType[maxRoomId + 1];
+        for (Room room : rooms) {
+            putRoom(room);
+        }
+        reservations.forEach(this::putReservation);
+    }
+
+    @Override
+    public void reservationAdded(Reservation reservation) {
+        lock.writeLock().lock();
+        try {
+            putReservation(reservation);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void reservationRemoved(Reservation reservation) {
+        lock.writeLock().lock();
+        try {
+            if (partition(reservation.getStatus(), roomType(reservation)).remove(reservation.getReservationId()) != null) {
+                reservationCount--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A room's reservations move between its type's partitions and the unknown-room ones; this scans those partitions.
+    @Override
+    public void roomAdded(Room room) {
+        lock.writeLock().lock();
+        try {
+            if (putRoom(room)) {
+                moveReservations(room.getRoomId(), null, room.getRoomType());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void roomRemoved(Room room) {
+        lock.writeLock().lock();
+        try {
+            int roomId = room.getRoomId();
+            RoomType roomType = roomId >= 0 && roomId < roomTypesById.length ? roomTypesById[roomId] : null;
+            if (roomType != null) {
+                roomTypesById[roomId] = null;
+                roomCounts[roomType.ordinal()]--;
+                roomCount--;
+                moveReservations(roomId, roomType, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // null if the reservation's room is not known.
+    RoomType roomType(Reservation reservation) {
+        int roomId = reservation.getRoomId();
+        return roomId >= 0 && roomId < roomTypesById.length ? roomTypesById[roomId] : null;
+    }
+
+    @Override
+    public int getRoomCount() {
+        lock.readLock().lock();
+        try {
+            return roomCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getRoomCount(RoomType roomType) {
+        lock.readLock().lock();
+        try {
+            return roomCounts[roomType.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getReservationCount() {
+        lock.readLock().lock();
+        try {
+            return reservationCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public DailyOccupancy getOccupancy(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return DailyOccupancy.build(this, startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getCancellations(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            int cancellations = countCancellations(null, startDate, endDate);
+            for (RoomType roomType : ROOM_TYPES) {
+                cancellations += countCancellations(roomType, startDate, endDate);
+            }
+            return cancellations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<RoomType, Integer> getCancellationsByRoomType(LocalDate startDate, LocalDate endDate) {
+        Map<RoomType, Integer> cancellations = new EnumMap<>(RoomType.class);
+        lock.readLock().lock();
+        try {
+            for (RoomType roomType : ROOM_TYPES) {
+                int count = countCancellations(roomType, startDate, endDate);
+                if (count > 0) {
+                    cancellations.put(roomType, count);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return cancellations;
+    }
+
+    // The matches are copied out under the lock and the action runs without it.
+    @Override
+    public void forEachConfirmed(RoomType roomType, LocalDate startDate, LocalDate endDate, Consumer<Reservation> action) {
+        List<Reservation> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Reservation reservation : partition(ReservationStatus.CONFIRMED, roomType).values()) {
+                if (overlaps(reservation, startDate, endDate)) {
+                    matches.add(reservation);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt(Reservation::getReservationId));
+        matches.forEach(action);
+    }
+
+    // roomType null gives the reservations whose room is unknown. Callers hold the read lock.
+    Collection<Reservation> reservations(ReservationStatus status, RoomType roomType) {
+        return partition(status, roomType).values();
+    }
+
+    // Ignores a room that is already known; an update arrives as the old room removed first.
+    private boolean putRoom(Room room) {
+        int roomId = room.getRoomId();
+        if (roomId >= roomTypesById.length) {
+            roomTypesById = Arrays.copyOf(roomTypesById, Math.max(roomId + 1, roomTypesById.length * 2));
+        }
+        if (roomTypesById[roomId] != null) {
+            return false;
+        }
+        roomTypesById[roomId] = room.getRoomType();
+        roomCounts[room.getRoomType().ordinal()]++;
+        roomCount++;
+        return true;
+    }
+
+    private void putReservation(Reservation reservation) {
+        if (partition(reservation.getStatus(), roomType(reservation)).put(reservation.getReservationId(), reservation) == null) {
+            reservationCount++;
+        }
+    }
+
+    private void moveReservations(int roomId, RoomType from, RoomType to) {
+        for (ReservationStatus status : ReservationStatus.values()) {
+            Map<Integer, Reservation> target = partition(status, to);
+            Iterator<Reservation> it = partition(status, from).values().iterator();
+            while (it.hasNext()) {
+                Reservation reservation = it.next();
+                if (reservation.getRoomId() == roomId) {
+                    it.remove();
+                    target.put(reservation.getReservationId(), reservation);
+                }
+            }
+        }
+    }
+
+    private int countCancellations(RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        int cancellations = 0;
+        for (Reservation reservation : partition(ReservationStatus.CANCELLED, roomType).values()) {
+            if (overlaps(reservation, startDate, endDate)) {
+                cancellations++;
+            }
+        }
+        return cancellations;
+    }
+
+    private static boolean overlaps(Reservation reservation, LocalDate startDate, LocalDate endDate) {
+        return !reservation.getEndDate().isBefore(startDate) && !reservation.getStartDate().isAfter(endDate);
+    }
+
+    private Map<Integer, Reservation> partition(ReservationStatus status, RoomType roomType) {
+        return partitions.get(status).get(roomType == null ? ROOM_TYPES.length : roomType.ordinal());
+    }
+}
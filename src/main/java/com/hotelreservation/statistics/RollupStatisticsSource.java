@@ -0,0 +1,77 @@
+package main.java.com.hotelreservation.statistics;
+
+import main.java.com.hotelreservation.dao.ReservationDAO;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Reads occupancy and cancellations from daily_stats, so a report touches one row per (day, hotel, room type)
+ * whatever the number of reservations. A cancelled reservation overlaps [start, end] when it arrives on or
+ * before end and does not depart before start, so the count is the arrivals up to end minus the departures
+ * before start. Room counts and the per-reservation listing still come from the base tables.
+ */
+public class RollupStatisticsSource extends SqlStatisticsSource {
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    public RollupStatisticsSource(ReservationDAO reservationDAO) {
+        super(reservationDAO);
+    }
+
+    @Override
+    public DailyOccupancy getOccupancy(LocalDate startDate, LocalDate endDate) {
+        String sql = "SELECT stat_date, room_type, SUM(occupied) AS occupied FROM daily_stats "
+                + "WHERE stat_date BETWEEN ? AND ? GROUP BY stat_date, room_type";
+        DayHorizon horizon = DailyOccupancy.horizon(startDate, endDate);
+        int[] occupied = new int[horizon.getDays() + 1];
+        int[][] occupiedByType = new int[ROOM_TYPES.length][horizon.getDays() + 1];
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int day = horizon.indexOf(rs.getDate("stat_date").toLocalDate());
+                    int count = rs.getInt("occupied");
+                    occupied[day] += count;
+                    occupiedByType[RoomType.valueOf(rs.getString("room_type")).ordinal()][day] += count;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error computing occupancy", e);
+        }
+        return DailyOccupancy.fromCounts(horizon, occupied, occupiedByType);
+    }
+
+    @Override
+    public Map<RoomType, Integer> getCancellationsByRoomType(LocalDate startDate, LocalDate endDate) {
+        String sql = "SELECT room_type, SUM(cancelled_arrivals) - COALESCE(SUM(cancelled_departures) FILTER (WHERE stat_date < ?), 0) "
+                + "FROM daily_stats WHERE stat_date <= ? GROUP BY room_type";
+        Map<RoomType, Integer> cancellations = new EnumMap<>(RoomType.class);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int count = rs.getInt(2);
+                    if (count > 0) {
+                        cancellations.put(RoomType.valueOf(rs.getString(1)), count);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting cancellations", e);
+        }
+        return cancellations;
+    }
+}
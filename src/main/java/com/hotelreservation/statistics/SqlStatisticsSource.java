@@ -0,0 +1,134 @@
+package main.java.com.hotelreservation.statistics;
+
+import main.java.com.hotelreservation.dao.ReservationDAO;
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.enums.RoomType;
+import main.java.com.hotelreservation.util.DatabaseConnection;
+import main.java.com.hotelreservation.util.DayHorizon;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ * Computes the report aggregates in the database, so nothing is loaded up front and each query returns
+ * at most one row per (day, room type). Occupancy is returned as per-day changes (+1 on the first
+ * counted night of a stay, -1 after its last) and swept on the client, which keeps the query linear
+ * in reservations instead of room-nights.
+ */
+public class SqlStatisticsSource implements StatisticsSource {
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final ReservationDAO reservationDAO;
+
+    public SqlStatisticsSource(ReservationDAO reservationDAO) {
+        this.reservationDAO = reservationDAO;
+    }
+
+    @Override
+    public int getRoomCount() {
+        return queryCount("SELECT COUNT(*) FROM rooms", "Error counting rooms");
+    }
+
+    @Override
+    public int getRoomCount(RoomType roomType) {
+        String sql = "SELECT COUNT(*) FROM rooms WHERE room_type = ?";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, roomType.name(), Types.OTHER);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting rooms", e);
+        }
+    }
+
+    @Override
+    public int getReservationCount() {
+        return queryCount("SELECT COUNT(*) FROM reservations", "Error counting reservations");
+    }
+
+    @Override
+    public DailyOccupancy getOccupancy(LocalDate startDate, LocalDate endDate) {
+        String sql = "SELECT c.day, rm.room_type, SUM(c.delta) AS delta "
+                + "FROM reservations r JOIN rooms rm ON rm.room_id = r.room_id "
+                + "CROSS JOIN LATERAL (VALUES (GREATEST(r.start_date, ?), 1), (LEAST(r.end_date, ?) + 1, -1)) AS c (day, delta) "
+                + "WHERE r.status = 'CONFIRMED' AND r.start_date <= ? AND r.end_date >= ? "
+                + "GROUP BY c.day, rm.room_type";
+        DayHorizon horizon = DailyOccupancy.horizon(startDate, endDate);
+        int[] occupied = new int[horizon.getDays() + 1];
+        int[][] occupiedByType = new int[ROOM_TYPES.length][horizon.getDays() + 1];
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+            pstmt.setDate(3, Date.valueOf(endDate));
+            pstmt.setDate(4, Date.valueOf(startDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int day = horizon.indexOf(rs.getDate("day").toLocalDate());
+                    int delta = rs.getInt("delta");
+                    occupied[day] += delta;
+                    occupiedByType[RoomType.valueOf(rs.getString("room_type")).ordinal()][day] += delta;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error computing occupancy", e);
+        }
+        return DailyOccupancy.fromChanges(horizon, occupied, occupiedByType);
+    }
+
+    @Override
+    public int getCancellations(LocalDate startDate, LocalDate endDate) {
+        return getCancellationsByRoomType(startDate, endDate).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public Map<RoomType, Integer> getCancellationsByRoomType(LocalDate startDate, LocalDate endDate) {
+        String sql = "SELECT rm.room_type, COUNT(*) FROM reservations r JOIN rooms rm ON rm.room_id = r.room_id "
+                + "WHERE r.status = 'CANCELLED' AND r.start_date <= ? AND r.end_date >= ? "
+                + "GROUP BY rm.room_type";
+        Map<RoomType, Integer> cancellations = new EnumMap<>(RoomType.class);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(endDate));
+            pstmt.setDate(2, Date.valueOf(startDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    cancellations.put(RoomType.valueOf(rs.getString(1)), rs.getInt(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting cancellations", e);
+        }
+        return cancellations;
+    }
+
+    // Streamed through a cursor so only one fetch of rows is held at a time.
+    @Override
+    public void forEachConfirmed(RoomType roomType, LocalDate startDate, LocalDate endDate, Consumer<Reservation> action) {
+        try (Stream<Reservation> reservations = reservationDAO.streamConfirmedByRoomType(roomType, startDate, endDate)) {
+            reservations.forEach(action);
+        }
+    }
+
+    private int queryCount(String sql, String errorMessage) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+}
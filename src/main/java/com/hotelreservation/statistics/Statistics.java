@@ -2,70 +2,72 @@ package main.java.com.hotelreservation.statistics;
 
 import main.java.com.hotelreservation.model.Reservation;
 import main.java.com.hotelreservation.model.Room;
-import main.java.com.hotelreservation.model.enums.ReservationStatus;
 import main.java.com.hotelreservation.model.enums.RoomType;
-import main.java.com.hotelreservation.pricing.DynamicPricing;
+import main.java.com.hotelreservation.pricing.PricingStrategy;
+import main.java.com.hotelreservation.service.ReservationChangeListener;
+import main.java.com.hotelreservation.service.ReservationService;
+import main.java.com.hotelreservation.service.RoomChangeListener;
+import main.java.com.hotelreservation.service.RoomService;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Statistics {
 
-    private List<Reservation> reservations;
-    private List<Room> rooms;
-    private DynamicPricing pricingStrategy;
+    private StatisticsSource source;
+    private PricingStrategy pricingStrategy;
 
-    public Statistics(List<Reservation> reservations, List<Room> rooms, DynamicPricing pricingStrategy) {
-        this.reservations = reservations;
-        this.rooms = rooms;
+    public Statistics(List<Reservation> reservations, List<Room> rooms, PricingStrategy pricingStrategy) {
+        this(new ReservationIndex(rooms, reservations.stream()), pricingStrategy);
+    }
+
+    // Reads the stream once without collecting it; the caller closes it.
+    public Statistics(Stream<Reservation> reservations, List<Room> rooms, PricingStrategy pricingStrategy) {
+        this(new ReservationIndex(rooms, reservations), pricingStrategy);
+    }
+
+    public Statistics(StatisticsSource source, PricingStrategy pricingStrategy) {
+        this.source = source;
         this.pricingStrategy = pricingStrategy;
     }
 
+    // Keeps an in-memory source in step with the services; database-backed sources already read live rows.
+    public void subscribeTo(ReservationService reservationService, RoomService roomService) {
+        if (source instanceof ReservationChangeListener) {
+            reservationService.addChangeListener((ReservationChangeListener) source);
+        }
+        if (source instanceof RoomChangeListener) {
+            roomService.addChangeListener((RoomChangeListener) source);
+        }
+    }
+
     public double calculateOccupancy() {
         return calculateOccupancy(LocalDate.now(), LocalDate.now());
     }
 
     public double calculateOccupancy(LocalDate startDate, LocalDate endDate) {
-        long totalRoomDays = rooms.size() * ChronoUnit.DAYS.between(startDate, endDate.plusDays(1));
-        long occupiedRoomDays = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .filter(r -> hasOverlap(r, startDate, endDate))
-                .mapToLong(r -> calculateOverlappingDays(r, startDate, endDate))
-                .sum();
-        return (double) occupiedRoomDays / totalRoomDays;
+        DailyOccupancy occupancy = dailyOccupancy(startDate, endDate);
+        long totalRoomDays = (long) source.getRoomCount() * occupancy.getDays();
+        return (double) occupancy.occupiedRoomDays() / totalRoomDays;
     }
 
     public double calculateRevenue(LocalDate startDate, LocalDate endDate) {
-        return reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .filter(r -> hasOverlap(r, startDate, endDate))
-                .mapToDouble(r -> calculateReservationRevenue(r, startDate, endDate))
-                .sum();
+        return Arrays.stream(calculateRevenueByRoomType(dailyOccupancy(startDate, endDate))).sum();
     }
 
     public int calculateCancellations(LocalDate startDate, LocalDate endDate) {
-        return (int) reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CANCELLED)
-                .filter(r -> isWithinDateRange(r, startDate, endDate))
-                .count();
+        return source.getCancellations(startDate, endDate);
     }
 
     public String generateOccupancyReport() {
         StringBuilder report = new StringBuilder("Occupancy Report:\n");
-        report.append(String.format("Current Occupancy Rate: %.2f%%\n", calculateOccupancy() * 100));
-
-        Map<RoomType, Long> occupancyByType = rooms.stream()
-                .collect(Collectors.groupingBy(Room::getRoomType, Collectors.counting()));
+        DailyOccupancy today = dailyOccupancy(LocalDate.now(), LocalDate.now());
+        report.append(String.format("Current Occupancy Rate: %.2f%%\n", (double) today.occupied(0) / source.getRoomCount() * 100));
 
         for (RoomType type : RoomType.values()) {
-            long totalRooms = occupancyByType.getOrDefault(type, 0L);
-            long occupiedRooms = reservations.stream()
-                    .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                    .filter(this::isCurrentlyOccupied)
-                    .filter(r -> getRoomType(r) == type)
-                    .count();
+            long totalRooms = source.getRoomCount(type);
+            long occupiedRooms = today.occupied(type, 0);
             double typeOccupancy = totalRooms > 0 ? (double) occupiedRooms / totalRooms : 0;
             report.append(String.format("%s Rooms: %.2f%% (%d/%d)\n", type, typeOccupancy * 100, occupiedRooms, totalRooms));
         }
@@ -76,17 +78,12 @@ public class Statistics {
     public String generateRevenueReport(LocalDate startDate, LocalDate endDate) {
         StringBuilder report = new StringBuilder("Revenue Report:\n");
         report.append(String.format("Period: %s to %s\n", startDate, endDate));
-        double totalRevenue = calculateRevenue(startDate, endDate);
+        double[] revenueByType = calculateRevenueByRoomType(dailyOccupancy(startDate, endDate));
+        double totalRevenue = Arrays.stream(revenueByType).sum();
         report.append(String.format("Total Revenue: $%.2f\n", totalRevenue));
 
-        Map<RoomType, Double> revenueByType = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .filter(r -> hasOverlap(r, startDate, endDate))
-                .collect(Collectors.groupingBy(this::getRoomType,
-                        Collectors.summingDouble(r -> calculateReservationRevenue(r, startDate, endDate))));
-
         for (RoomType type : RoomType.values()) {
-            double typeRevenue = revenueByType.getOrDefault(type, 0.0);
+            double typeRevenue = revenueByType[type.ordinal()];
             report.append(String.format("%s Rooms Revenue: $%.2f\n", type, typeRevenue));
         }
 
@@ -100,13 +97,9 @@ public class Statistics {
         int totalCancellations = calculateCancellations(startDate, endDate);
         report.append(String.format("Total Cancellations (Last 30 days): %d\n", totalCancellations));
 
-        Map<RoomType, Long> cancellationsByType = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CANCELLED)
-                .filter(r -> isWithinDateRange(r, startDate, endDate))
-                .collect(Collectors.groupingBy(this::getRoomType, Collectors.counting()));
-
+        Map<RoomType, Integer> cancellationsByType = source.getCancellationsByRoomType(startDate, endDate);
         for (RoomType type : RoomType.values()) {
-            long typeCancellations = cancellationsByType.getOrDefault(type, 0L);
+            long typeCancellations = cancellationsByType.getOrDefault(type, 0);
             report.append(String.format("%s Room Cancellations: %d\n", type, typeCancellations));
         }
 
@@ -116,26 +109,26 @@ public class Statistics {
     public String generateRoomTypePerformanceReport(LocalDate startDate, LocalDate endDate) {
         StringBuilder report = new StringBuilder("Room Type Performance Report:\n");
         report.append(String.format("Date Range: %s to %s\n", startDate, endDate));
-        report.append(String.format("Total Reservations: %d\n", reservations.size()));
+        report.append(String.format("Total Reservations: %d\n", source.getReservationCount()));
+        DailyOccupancy occupancy = dailyOccupancy(startDate, endDate);
+        double[][] nightlyPrices = nightlyPrices(occupancy);
 
         for (RoomType type : RoomType.values()) {
-            double occupancy = calculateOccupancyByRoomType(type, startDate, endDate);
-            double revenue = calculateRevenueByRoomType(type, startDate, endDate);
+            long roomCount = source.getRoomCount(type);
+            long totalRoomDays = roomCount * occupancy.getDays();
+            double typeOccupancy = totalRoomDays > 0 ? (double) occupancy.occupiedRoomDays(type) / totalRoomDays : 0;
+            double revenue = revenue(occupancy, nightlyPrices, type);
             report.append(String.format("%s Rooms:\n", type));
-            report.append(String.format("  Occupancy: %.2f%%\n", occupancy * 100));
+            report.append(String.format("  Occupancy: %.2f%%\n", typeOccupancy * 100));
             report.append(String.format("  Revenue: $%.2f\n", revenue));
 
-            long roomCount = rooms.stream().filter(r -> r.getRoomType() == type).count();
-            List<Reservation> relevantReservations = reservations.stream()
-                    .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                    .filter(r -> getRoomType(r) == type)
-                    .filter(r -> hasOverlap(r, startDate, endDate))
-                    .toList();
+            List<Reservation> relevantReservations = new ArrayList<>();
+            source.forEachConfirmed(type, startDate, endDate, relevantReservations::add);
 
             report.append(String.format("   Total %s rooms: %d\n", type, roomCount));
             report.append(String.format("   Reservations in range: %d\n", relevantReservations.size()));
             for (Reservation res : relevantReservations) {
-                double resRevenue = calculateReservationRevenue(res, startDate, endDate);
+                double resRevenue = calculateReservationRevenue(res, occupancy, nightlyPrices[type.ordinal()]);
                 report.append(String.format("    Reservation ID: %d, Room ID: %d, Dates: %s to %s, Total Price: $%.2f, Calculated Revenue: $%.2f\n",
                         res.getReservationId(), res.getRoomId(), res.getStartDate(), res.getEndDate(), res.getTotalPrice(), resRevenue));
             }
@@ -143,77 +136,50 @@ public class Statistics {
         return report.toString();
     }
 
-    private double calculateOccupancyByRoomType(RoomType type, LocalDate startDate, LocalDate endDate) {
-        long totalRoomDays = rooms.stream()
-                .filter(r -> r.getRoomType() == type)
-                .count() * ChronoUnit.DAYS.between(startDate, endDate.plusDays(1));
-        long occupiedRoomDays = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .filter(r -> getRoomType(r) == type)
-                .filter(r -> hasOverlap(r, startDate, endDate))
-                .mapToLong(r -> calculateOverlappingDays(r, startDate, endDate))
-                .sum();
-        return totalRoomDays > 0 ? (double) occupiedRoomDays / totalRoomDays : 0;
-    }
-
-    private double calculateRevenueByRoomType(RoomType type, LocalDate startDate, LocalDate endDate) {
-        return reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .filter(r -> getRoomType(r) == type)
-                .filter(r -> hasOverlap(r, startDate, endDate))
-                .mapToDouble(r -> calculateReservationRevenue(r, startDate, endDate))
-                .sum();
-    }
-
-    private boolean isCurrentlyOccupied(Reservation reservation) {
-        LocalDate now = LocalDate.now();
-        return !now.isBefore(reservation.getStartDate()) && !now.isAfter(reservation.getEndDate());
+    private DailyOccupancy dailyOccupancy(LocalDate startDate, LocalDate endDate) {
+        return source.getOccupancy(startDate, endDate);
     }
 
-    private boolean isWithinDateRange(Reservation reservation, LocalDate startDate, LocalDate endDate) {
-        return !reservation.getEndDate().isBefore(startDate) && !reservation.getStartDate().isAfter(endDate);
-    }
-
-    private boolean hasOverlap(Reservation reservation, LocalDate startDate, LocalDate endDate) {
-        return !reservation.getEndDate().isBefore(startDate) && !reservation.getStartDate().isAfter(endDate);
+    private double[] calculateRevenueByRoomType(DailyOccupancy occupancy) {
+        double[][] nightlyPrices = nightlyPrices(occupancy);
+        double[] revenueByType = new double[RoomType.values().length];
+        for (RoomType type : RoomType.values()) {
+            revenueByType[type.ordinal()] = revenue(occupancy, nightlyPrices, type);
+        }
+        return revenueByType;
     }
 
-    private long calculateOverlappingDays(Reservation reservation, LocalDate startDate, LocalDate endDate) {
-        LocalDate overlapStart = reservation.getStartDate().isAfter(startDate) ? reservation.getStartDate() : startDate;
-        LocalDate overlapEnd = reservation.getEndDate().isBefore(endDate) ? reservation.getEndDate() : endDate;
-        return ChronoUnit.DAYS.between(overlapStart, overlapEnd.plusDays(1));
+    private double revenue(DailyOccupancy occupancy, double[][] nightlyPrices, RoomType type) {
+        double revenue = 0.0;
+        for (int day = 0; day < occupancy.getDays(); day++) {
+            revenue += occupancy.occupied(type, day) * nightlyPrices[type.ordinal()][day];
+        }
+        return revenue;
+    }
+
+    // Every confirmed stay of a type pays the same price for a given night, so each (type, day) is priced once.
+    private double[][] nightlyPrices(DailyOccupancy occupancy) {
+        double[][] prices = new double[RoomType.values().length][occupancy.getDays()];
+        int roomCount = source.getRoomCount();
+        LocalDate date = occupancy.getHorizon().getOrigin();
+        for (int day = 0; day < occupancy.getDays(); day++, date = date.plusDays(1)) {
+            double occupancyRate = (double) occupancy.occupied(day) / roomCount;
+            for (RoomType type : RoomType.values()) {
+                if (occupancy.occupied(type, day) > 0) {
+                    prices[type.ordinal()][day] = pricingStrategy.calculatePrice(date, date.plusDays(1), type, occupancyRate);
+                }
+            }
+        }
+        return prices;
     }
 
-    private double calculateReservationRevenue(Reservation reservation, LocalDate startDate, LocalDate endDate) {
-        LocalDate overlapStart = reservation.getStartDate().isAfter(startDate) ? reservation.getStartDate() : startDate;
-        LocalDate overlapEnd = reservation.getEndDate().isBefore(endDate) ? reservation.getEndDate() : endDate;
-
+    private double calculateReservationRevenue(Reservation reservation, DailyOccupancy occupancy, double[] nightlyPrices) {
+        int from = occupancy.getHorizon().clampedIndexOf(reservation.getStartDate());
+        int to = occupancy.getHorizon().clampedIndexOf(reservation.getEndDate().plusDays(1));
         double totalRevenue = 0.0;
-        RoomType roomType = getRoomType(reservation);
-
-        for (LocalDate date = overlapStart; !date.isAfter(overlapEnd); date = date.plusDays(1)) {
-            double occupancyRate = calculateOccupancyRate(date);
-            double dailyPrice = pricingStrategy.calculatePrice(date, date.plusDays(1), roomType, occupancyRate);
-            totalRevenue += dailyPrice;
+        for (int day = from; day < to; day++) {
+            totalRevenue += nightlyPrices[day];
         }
-
         return totalRevenue;
     }
-
-    private RoomType getRoomType(Reservation reservation) {
-        return rooms.stream()
-                .filter(r -> r.getRoomId() == reservation.getRoomId())
-                .findFirst()
-                .map(Room::getRoomType)
-                .orElseThrow(() -> new IllegalStateException("Room not found for reservation"));
-    }
-
-    private double calculateOccupancyRate(LocalDate date) {
-        long totalRooms = rooms.size();
-        long occupiedRooms = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .filter(r -> !date.isBefore(r.getStartDate()) && !date.isAfter(r.getEndDate()))
-                .count();
-        return (double) occupiedRooms / totalRooms;
-    }
 }
@@ -0,0 +1,21 @@
+package main.java.com.hotelreservation.statistics;
+
+import main.java.com.hotelreservation.model.Reservation;
+import main.java.com.hotelreservation.model.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// The aggregates Statistics reports are built from. Date ranges are inclusive and a reservation occupies its end date.
+public interface StatisticsSource {
+    int getRoomCount();
+    int getRoomCount(RoomType roomType);
+    int getReservationCount();
+    DailyOccupancy getOccupancy(LocalDate startDate, LocalDate endDate);
+    int getCancellations(LocalDate startDate, LocalDate endDate);
+    Map<RoomType, Integer> getCancellationsByRoomType(LocalDate startDate, LocalDate endDate);
+
+    // Confirmed reservations of the type overlapping the range, in reservation id order.
+    void forEachConfirmed(RoomType roomType, LocalDate startDate, LocalDate endDate, Consumer<Reservation> action);
+}
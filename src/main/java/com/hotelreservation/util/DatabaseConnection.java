@@ -1,7 +1,7 @@
 package main.java.com.hotelreservation.util;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnection {
@@ -9,15 +9,19 @@ public class DatabaseConnection {
     private static final String USER = "postgres";
     private static final String PASSWORD = "toor";
 
+    private static final int MIN_POOL_SIZE = Integer.getInteger("hoteljdbc.pool.minSize", 2);
+    private static final int MAX_POOL_SIZE = Integer.getInteger("hoteljdbc.pool.maxSize", 10);
+    private static final long BORROW_TIMEOUT_MILLIS = Long.getLong("hoteljdbc.pool.borrowTimeoutMillis", 30_000L);
+    private static final long IDLE_TIMEOUT_MILLIS = Long.getLong("hoteljdbc.pool.idleTimeoutMillis", 600_000L);
+    private static final int VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("hoteljdbc.pool.validationTimeoutSeconds", 5);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("hoteljdbc.pool.statementCacheSize", 64);
+
     private static DatabaseConnection instance;
-    private Connection connection;
+    private final ConnectionPool pool;
 
     private DatabaseConnection() {
-        try {
-            this.connection = DriverManager.getConnection(URL, USER, PASSWORD);
-        } catch (SQLException e) {
-            throw new RuntimeException("Error connecting to the database", e);
-        }
+        this.pool = new ConnectionPool(URL, USER, PASSWORD, MIN_POOL_SIZE, MAX_POOL_SIZE,
+                BORROW_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, VALIDATION_TIMEOUT_SECONDS, STATEMENT_CACHE_SIZE);
     }
 
     public static synchronized DatabaseConnection getInstance() {
@@ -28,19 +32,18 @@ public class DatabaseConnection {
     }
 
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
-        }
-        return connection;
+        return pool.getConnection();
+    }
+
+    public DataSource getDataSource() {
+        return pool;
+    }
+
+    public PoolStats getPoolStats() {
+        return pool.getStats();
     }
 
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                System.out.println("Error closing the database connection: " + e.getMessage());
-            }
-        }
+        pool.close();
     }
 }
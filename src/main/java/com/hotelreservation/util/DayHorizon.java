@@ -0,0 +1,59 @@
+package main.java.com.hotelreservation.util;
+
+import java.time.LocalDate;
+
+// A fixed window of days [origin, origin + days) that day-indexed arrays are laid out over.
+public final class DayHorizon {
+    private final LocalDate origin;
+    private final long originEpochDay;
+    private final int days;
+
+    public DayHorizon(LocalDate origin, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Horizon must span at least one day: " + days);
+        }
+        this.origin = origin;
+        this.originEpochDay = origin.toEpochDay();
+        this.days = days;
+    }
+
+    public static DayHorizon startingToday(int days) {
+        return new DayHorizon(LocalDate.now(), days);
+    }
+
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    public LocalDate getEnd() {
+        return origin.plusDays(days);
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int indexOf(LocalDate date) {
+        return (int) (date.toEpochDay() - originEpochDay);
+    }
+
+    // Index of the date, clamped to [0, days] so half-open ranges can be clipped to the horizon.
+    public int clampedIndexOf(LocalDate date) {
+        long index = date.toEpochDay() - originEpochDay;
+        return (int) Math.max(0, Math.min(days, index));
+    }
+
+    public boolean covers(LocalDate date) {
+        int index = indexOf(date);
+        return index >= 0 && index < days;
+    }
+
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return !startDate.isBefore(origin) && !endDate.isAfter(getEnd());
+    }
+
+    @Override
+    public String toString() {
+        return origin + " to " + getEnd() + " (" + days + " days)";
+    }
+}
@@ -0,0 +1,47 @@
+package main.java.com.hotelreservation.util;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+public final class IdLookups {
+    public static final int MAX_IDS_PER_QUERY = Integer.getInteger("hoteljdbc.maxIdsPerQuery", 10_000);
+
+    private IdLookups() {
+    }
+
+    // The SQL must bind its ID set as a single integer[] parameter, e.g. "WHERE customer_id = ANY(?)".
+    public static <T> Map<Integer, T> findAllByIds(String sql, Collection<Integer> ids,
+                                                   JdbcStreams.RowMapper<T> mapper, ToIntFunction<T> idOf) throws SQLException {
+        Integer[] distinctIds = new LinkedHashSet<>(ids).toArray(new Integer[0]);
+        Map<Integer, T> found = new HashMap<>(Math.max(16, distinctIds.length * 4 / 3 + 1));
+        if (distinctIds.length == 0) {
+            return found;
+        }
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int from = 0; from < distinctIds.length; from += MAX_IDS_PER_QUERY) {
+                Integer[] chunk = Arrays.copyOfRange(distinctIds, from, Math.min(from + MAX_IDS_PER_QUERY, distinctIds.length));
+                Array idArray = conn.createArrayOf("integer", chunk);
+                pstmt.setArray(1, idArray);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        T row = mapper.map(rs);
+                        found.put(idOf.applyAsInt(row), row);
+                    }
+                } finally {
+                    idArray.free();
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,118 @@
+package main.java.com.hotelreservation.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Function;
+
+public final class JdbcBatch {
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("hoteljdbc.batchSize", 500);
+
+    @FunctionalInterface
+    public interface StatementBinder<T> {
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    private JdbcBatch() {
+    }
+
+    // Runs the inserts in one transaction and returns the generated keys in the same order as the items.
+    public static <T> int[] insert(String sql, String keyColumn, List<T> items, int batchSize,
+                                   StatementBinder<T> binder) throws SQLException {
+        int[] keys = new int[items.size()];
+        if (items.isEmpty()) {
+            return keys;
+        }
+        checkBatchSize(batchSize);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int next = 0;
+                for (int from = 0; from < items.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, items.size());
+                    for (T item : items.subList(from, to)) {
+                        binder.bind(pstmt, item);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        while (generatedKeys.next() && next < to) {
+                            keys[next++] = generatedKeys.getInt(keyColumn);
+                        }
+                    }
+                    if (next != to) {
+                        throw new SQLException("Batch insert failed, expected " + (to - from)
+                                + " generated keys but got " + (next - from) + ".");
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return keys;
+    }
+
+    // Runs the statements in one transaction and returns the per-item update counts.
+    public static <T> int[] execute(String sql, List<T> items, int batchSize,
+                                    StatementBinder<T> binder) throws SQLException {
+        return execute(sql, items, batchSize, binder, null);
+    }
+
+    /*
+     * As above, but if any statement affects no rows the whole transaction is rolled back and a
+     * RuntimeException carrying noRowsMessage for the first such item is thrown, as the single-row methods do.
+     */
+    public static <T> int[] execute(String sql, List<T> items, int batchSize, StatementBinder<T> binder,
+                                    Function<T, String> noRowsMessage) throws SQLException {
+        int[] counts = new int[items.size()];
+        if (items.isEmpty()) {
+            return counts;
+        }
+        checkBatchSize(batchSize);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int from = 0; from < items.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, items.size());
+                    for (T item : items.subList(from, to)) {
+                        binder.bind(pstmt, item);
+                        pstmt.addBatch();
+                    }
+                    int[] chunk = pstmt.executeBatch();
+                    System.arraycopy(chunk, 0, counts, from, chunk.length);
+                }
+                if (noRowsMessage != null) {
+                    int missing = indexOfZero(counts);
+                    if (missing >= 0) {
+                        throw new RuntimeException(noRowsMessage.apply(items.get(missing)));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return counts;
+    }
+
+    private static int indexOfZero(int[] counts) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package main.java.com.hotelreservation.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class JdbcStreams {
+    public static final int DEFAULT_FETCH_SIZE = Integer.getInteger("hoteljdbc.fetchSize", 1000);
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface ParameterSetter {
+        void set(PreparedStatement statement) throws SQLException;
+    }
+
+    private JdbcStreams() {
+    }
+
+    /*
+     * pgjdbc only honours the fetch size (and so only uses a server-side cursor) when autocommit is off.
+     * The returned stream holds a pooled connection until it is closed, so callers must use try-with-resources.
+     */
+    public static <T> Stream<T> stream(String sql, int fetchSize, ParameterSetter parameters,
+                                       RowMapper<T> mapper, String errorMessage) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getInstance().getConnection();
+            conn.setAutoCommit(false);
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            if (parameters != null) {
+                parameters.set(pstmt);
+            }
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            closeAll(rs, pstmt, conn);
+            throw new RuntimeException(errorMessage, e);
+        }
+
+        ResultSet cursor = rs;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException(errorMessage, e);
+                }
+            }
+        };
+        PreparedStatement statement = pstmt;
+        Connection connection = conn;
+        return StreamSupport.stream(rows, false).onClose(() -> closeAll(cursor, statement, connection));
+    }
+
+    private static void closeAll(ResultSet rs, PreparedStatement pstmt, Connection conn) {
+        try (conn; pstmt; rs) {
+            // closed in reverse order by try-with-resources
+        } catch (SQLException e) {
+            System.out.println("Error closing streamed query: " + e.getMessage());
+        }
+    }
+}
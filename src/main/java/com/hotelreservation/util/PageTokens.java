@@ -0,0 +1,67 @@
+package main.java.com.hotelreservation.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Page tokens are opaque to callers; they carry the sort key of the last row of the previous page.
+public final class PageTokens {
+    private static final String SEPARATOR = "|";
+
+    private PageTokens() {
+    }
+
+    public static String encode(int id) {
+        return encodeParts(Integer.toString(id));
+    }
+
+    public static String encode(LocalDate date, int id) {
+        return encodeParts(date + SEPARATOR + id);
+    }
+
+    public static int decodeId(String token) {
+        try {
+            return Integer.parseInt(decodeParts(token));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+
+    public static LocalDate decodeDate(String token) {
+        String parts = decodeParts(token);
+        int separator = parts.indexOf(SEPARATOR);
+        try {
+            return LocalDate.parse(parts.substring(0, Math.max(separator, 0)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+
+    public static int decodeDateId(String token) {
+        String parts = decodeParts(token);
+        try {
+            return Integer.parseInt(parts.substring(parts.indexOf(SEPARATOR) + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+
+    public static void checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+    }
+
+    private static String encodeParts(String parts) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(parts.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeParts(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package main.java.com.hotelreservation.util;
+
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long totalCreated;
+    private final long totalDestroyed;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long timeouts;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    PoolStats(int active, int idle, int waiting, long totalCreated, long totalDestroyed,
+              long borrowCount, long totalWaitNanos, long maxWaitNanos, long timeouts,
+              long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.totalCreated = totalCreated;
+        this.totalDestroyed = totalDestroyed;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeouts = timeouts;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public long getTotalCreated() {
+        return totalCreated;
+    }
+
+    public long getTotalDestroyed() {
+        return totalDestroyed;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / borrowCount;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions;
+    }
+
+    public double getStatementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "active=" + active +
+                ", idle=" + idle +
+                ", waiting=" + waiting +
+                ", created=" + totalCreated +
+                ", destroyed=" + totalDestroyed +
+                ", borrows=" + borrowCount +
+                String.format(", avgWaitMs=%.3f", getAverageWaitMillis()) +
+                String.format(", maxWaitMs=%.3f", getMaxWaitMillis()) +
+                ", timeouts=" + timeouts +
+                ", stmtHits=" + statementCacheHits +
+                ", stmtMisses=" + statementCacheMisses +
+                ", stmtEvictions=" + statementCacheEvictions +
+                '}';
+    }
+}
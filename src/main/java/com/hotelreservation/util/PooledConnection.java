@@ -0,0 +1,227 @@
+package main.java.com.hotelreservation.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class PooledConnection {
+    // Statements whose settings were changed by the caller are closed rather than handed to the next borrower.
+    private static final Set<String> STATEMENT_SETTERS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows",
+            "setMaxFieldSize", "setQueryTimeout", "setEscapeProcessing", "setPoolable", "setCursorName");
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final StatementCache statementCache;
+    private volatile long lastReturnedNanos;
+    private volatile boolean broken;
+
+    PooledConnection(ConnectionPool pool, Connection physical, StatementCache statementCache) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = statementCache;
+        this.lastReturnedNanos = System.nanoTime();
+    }
+
+    Connection lease() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease());
+    }
+
+    long idleNanos() {
+        return System.nanoTime() - lastReturnedNanos;
+    }
+
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return !broken && physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Undo whatever the borrower left behind so the next borrower starts in autocommit mode.
+    boolean resetForReuse() {
+        try {
+            if (broken || physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            lastReturnedNanos = System.nanoTime();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            System.out.println("Error closing pooled database connection: " + e.getMessage());
+        }
+    }
+
+    private class Lease implements InvocationHandler {
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + (closed ? ", closed]" : "]");
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    if (method.getName().equals("prepareStatement") && isCacheable(args)) {
+                        return prepareCached((Connection) proxy, args);
+                    }
+                    return delegate(physical, method, args);
+            }
+        }
+
+        private boolean isCacheable(Object[] args) {
+            return statementCache.isEnabled()
+                    && (args.length == 1 || (args.length == 2 && args[1] instanceof Integer));
+        }
+
+        private PreparedStatement prepareCached(Connection proxy, Object[] args) throws SQLException {
+            String sql = (String) args[0];
+            int generatedKeys = args.length == 2 ? (Integer) args[1] : -1;
+            String key = generatedKeys < 0 ? sql : generatedKeys + ":" + sql;
+
+            PreparedStatement statement = statementCache.take(key);
+            if (statement == null || statement.isClosed()) {
+                statement = generatedKeys < 0
+                        ? physical.prepareStatement(sql)
+                        : physical.prepareStatement(sql, generatedKeys);
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatement(this, proxy, key, statement));
+        }
+    }
+
+    private class CachedStatement implements InvocationHandler {
+        private final Lease lease;
+        private final Connection connection;
+        private final String key;
+        private final PreparedStatement statement;
+        private final List<ResultSet> results = new ArrayList<>();
+        private boolean closed;
+        private boolean modified;
+
+        CachedStatement(Lease lease, Connection connection, String key, PreparedStatement statement) {
+            this.lease = lease;
+            this.connection = connection;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return statement.toString();
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    if (STATEMENT_SETTERS.contains(method.getName())) {
+                        modified = true;
+                    }
+                    Object result = delegate(statement, method, args);
+                    if (result instanceof ResultSet resultSet) {
+                        track(resultSet);
+                    }
+                    return result;
+            }
+        }
+
+        private void track(ResultSet resultSet) throws SQLException {
+            if (results.size() >= 8) {
+                for (int i = results.size() - 1; i >= 0; i--) {
+                    if (results.get(i).isClosed()) {
+                        results.remove(i);
+                    }
+                }
+            }
+            results.add(resultSet);
+        }
+
+        private void checkIn() throws SQLException {
+            for (ResultSet resultSet : results) {
+                resultSet.close();
+            }
+            results.clear();
+            if (modified || lease.closed || broken || statement.isClosed()) {
+                statement.close();
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            statementCache.put(key, statement);
+        }
+    }
+
+    private Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException && isConnectionError(sqlException)) {
+                broken = true;
+            }
+            throw cause;
+        }
+    }
+
+    private static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
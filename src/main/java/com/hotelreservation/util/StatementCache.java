@@ -0,0 +1,66 @@
+package main.java.com.hotelreservation.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Only ever touched by the thread currently leasing the owning connection, so no locking is needed.
+class StatementCache {
+    private final int capacity;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    StatementCache(int capacity, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    // Removes the statement while it is checked out, so a nested prepare of the same SQL gets its own statement.
+    PreparedStatement take(String key) {
+        PreparedStatement statement = statements.remove(key);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return statement;
+    }
+
+    void put(String key, PreparedStatement statement) {
+        if (statements.containsKey(key)) {
+            closeQuietly(statement);
+            return;
+        }
+        statements.put(key, statement);
+        if (statements.size() > capacity) {
+            Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+            closeQuietly(eldest.next().getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    void clear() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}